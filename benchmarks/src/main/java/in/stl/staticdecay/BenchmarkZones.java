@@ -0,0 +1,100 @@
+package in.stl.staticdecay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds synthetic zones of a given size and creature count for the benchmarks.
+ */
+final class BenchmarkZones {
+
+    private BenchmarkZones() {
+    }
+
+    /**
+     * Works out how many creatures fill a share of a square zone.
+     *
+     * @param size    The width and height of the zone.
+     * @param percent The creatures per hundred tiles.
+     * @return The number of creatures, at least 1.
+     */
+    static int creaturesFor(int size, int percent) {
+        return Math.max(1, size * size * percent / 100);
+    }
+
+    /**
+     * Creates an engine whose current zone is a walled square room with creatures scattered through it. The player
+     * stands in the middle of the room, and the row the player stands on is kept free of creatures and interactables
+     * so the player can walk back and forth without starting a fight.
+     *
+     * @param size          The width and height of the zone.
+     * @param creatureCount The number of creatures to place.
+     * @return The engine with the zone installed.
+     * @throws IllegalArgumentException If there are fewer free floor tiles than creatures.
+     */
+    static GameEngine engineWithZone(int size, int creatureCount) {
+        GameEngine engine = new GameEngine();
+        engine.setCurrentZone(createZone(size, creatureCount, size / 2));
+        engine.getPlayer().setX(size / 2);
+        engine.getPlayer().setY(size / 2);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                engine.getCurrentZone().getVisibility().markVisible(x, y);
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Creates a walled square zone with creatures and lockers placed at fixed pseudo-random positions.
+     *
+     * @param size          The width and height of the zone.
+     * @param creatureCount The number of creatures to place.
+     * @param freeRow       The row to keep free of creatures and interactables.
+     * @return The zone.
+     * @throws IllegalArgumentException If there are fewer free floor tiles than creatures.
+     */
+    static GameZone createZone(int size, int creatureCount, int freeRow) {
+        Random random = new Random(42);
+        char[][] layout = new char[size][size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+                layout[y][x] = border || (y != freeRow && random.nextInt(10) == 0) ? '#' : '.';
+            }
+        }
+        int freeTiles = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (y != freeRow && layout[y][x] != '#') freeTiles++;
+            }
+        }
+        if (creatureCount > freeTiles) {
+            throw new IllegalArgumentException("A " + size + "x" + size + " zone only has room for " + freeTiles
+                    + " creatures, not " + creatureCount);
+        }
+        boolean[][] taken = new boolean[size][size];
+        CreatureStore creatures = new CreatureStore(creatureCount);
+        while (creatures.size() < creatureCount) {
+            int x = 1 + random.nextInt(size - 2);
+            int y = 1 + random.nextInt(size - 2);
+            if (y == freeRow || taken[y][x] || layout[y][x] == '#') continue;
+            taken[y][x] = true;
+            creatures.add(switch (creatures.size() % 3) {
+                case 0 -> CreatureArchetype.SHAMBLER;
+                case 1 -> CreatureArchetype.STALKER;
+                default -> CreatureArchetype.WHISPERER;
+            }, x, y);
+        }
+        List<Interactable> interactables = new ArrayList<>();
+        for (int i = 0; i < size / 4; i++) {
+            int x = 1 + random.nextInt(size - 2);
+            int y = 1 + random.nextInt(size - 2);
+            if (y == freeRow || layout[y][x] == '#') continue;
+            layout[y][x] = 'C';
+            interactables.add(new Interactable(x, y, Interactable.Type.CONTAINER, "A rusted locker."));
+        }
+        return new GameZone("Benchmark Zone", new ArrayTileStore(size, size, layout), creatures, interactables);
+    }
+}
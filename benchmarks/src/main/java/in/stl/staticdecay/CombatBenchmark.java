@@ -0,0 +1,39 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares playing a fight out round by round with working out its odds in closed form. The fight is against a tough
+ * creature, with the player attacking until low on health and then running.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatBenchmark {
+
+    @Param({"50", "1000"})
+    public int creatureHp;
+
+    private final CombatResolver resolver = new CombatResolver(new Random(1));
+    private final CombatPolicy policy = CombatPolicy.fleeAt(30);
+    private final Weapon weapon = new Weapon("Pipe", "For the benchmark.", 5);
+
+    @Benchmark
+    public CombatResolver.Outcome resolve() {
+        Player player = new Player(1, 1);
+        player.setEquippedWeapon(weapon);
+        Creature creature = new Creature("Brute", creatureHp, 1, 0, 0);
+        return resolver.resolve(player, creature, policy, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public CombatOdds odds() {
+        return CombatOdds.compute(100, 100, weapon.getDamage(), creatureHp, 1, false, 30);
+    }
+}
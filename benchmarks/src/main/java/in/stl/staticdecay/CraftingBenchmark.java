@@ -0,0 +1,38 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the "can craft" check the crafting menu runs for every recipe.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CraftingBenchmark {
+
+    private GameEngine engine;
+    private List<CraftingRecipe> recipes;
+
+    @Setup
+    public void setUp() {
+        engine = new GameEngine();
+        recipes = engine.getRecipes();
+        Player player = engine.getPlayer();
+        player.addItem(engine.getItem("Dirty Rags"), 1);
+        player.addItem(engine.getItem("Chemicals"), 1);
+    }
+
+    @Benchmark
+    public void canCraftAll(Blackhole blackhole) {
+        for (CraftingRecipe recipe : recipes) {
+            blackhole.consume(engine.canCraft(recipe));
+        }
+    }
+}
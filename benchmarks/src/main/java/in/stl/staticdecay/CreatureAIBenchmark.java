@@ -0,0 +1,65 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one creature turn in a crowded zone where creatures notice the player from far away, on different numbers
+ * of threads. Creature positions are restored before every call so each call does the same work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CreatureAIBenchmark {
+
+    private static final int SIZE = 2048;
+
+    @Param({"16", "256"})
+    public int radius;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private GameZone zone;
+    private ForkJoinPool pool;
+    private CreatureAI ai;
+    private int[] startX;
+    private int[] startY;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        zone = BenchmarkZones.engineWithZone(SIZE, 500_000).getCurrentZone();
+        pool = new ForkJoinPool(threads);
+        ai = new CreatureAI(radius, pool);
+        CreatureStore store = zone.getCreatureStore();
+        startX = new int[store.size()];
+        startY = new int[store.size()];
+        for (int i = 0; i < store.size(); i++) {
+            startX[i] = store.getX(i);
+            startY[i] = store.getY(i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCreatures() {
+        CreatureStore store = zone.getCreatureStore();
+        for (int i = 0; i < store.size(); i++) {
+            store.move(i, startX[i], startY[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void takeTurn() {
+        ai.takeTurn(zone, SIZE / 2, SIZE / 2);
+    }
+}
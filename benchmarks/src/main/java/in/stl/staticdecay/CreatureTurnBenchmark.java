@@ -0,0 +1,53 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one creature turn. Creature positions are restored before every call so each call does the same work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreatureTurnBenchmark {
+
+    @Param({"20", "64", "256"})
+    public int size;
+
+    // Creatures per hundred tiles of the zone, so every size gets a sparse, a busy and a crowded zone.
+    @Param({"1", "5", "25"})
+    public int creaturePercent;
+
+    private GameEngine engine;
+    private int[] startX;
+    private int[] startY;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = BenchmarkZones.engineWithZone(size, BenchmarkZones.creaturesFor(size, creaturePercent));
+        CreatureStore store = engine.getCurrentZone().getCreatureStore();
+        startX = new int[store.size()];
+        startY = new int[store.size()];
+        for (int i = 0; i < store.size(); i++) {
+            startX[i] = store.getX(i);
+            startY[i] = store.getY(i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCreatures() {
+        CreatureStore store = engine.getCurrentZone().getCreatureStore();
+        for (int i = 0; i < store.size(); i++) {
+            store.move(i, startX[i], startY[i]);
+        }
+    }
+
+    @Benchmark
+    public void handleCreatureTurn() {
+        engine.handleCreatureTurn();
+    }
+}
@@ -0,0 +1,45 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full game turn in a zone packed with creatures. The player walks along a row that starts free of
+ * creatures, jumping back to the start of the row at the end, and runs from any fight it walks into. It is healed
+ * and fed every turn so the game never ends.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CrowdedZoneBenchmark {
+
+    private static final int SIZE = 2048;
+
+    @Param({"100000", "1000000"})
+    public int creatures;
+
+    private GameEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = BenchmarkZones.engineWithZone(SIZE, creatures);
+    }
+
+    @Benchmark
+    public GameStatus turn() {
+        Player player = engine.getPlayer();
+        player.heal(100);
+        player.eat(1);
+        if (engine.getStatus() == GameStatus.IN_COMBAT) {
+            return engine.step(Command.run());
+        }
+        if (player.getX() >= SIZE - 2) {
+            player.setX(1);
+        }
+        return engine.step(Command.move('D'));
+    }
+}
@@ -0,0 +1,41 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures recomputing the player's field of view after a step, for growing zones and view radii.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldOfViewBenchmark {
+
+    @Param({"64", "1024"})
+    public int size;
+
+    @Param({"4", "12"})
+    public int radius;
+
+    private GameZone zone;
+    private FieldOfView fieldOfView;
+    private int x;
+    private boolean east;
+
+    @Setup
+    public void setUp() {
+        zone = BenchmarkZones.createZone(size, 0, size / 2);
+        fieldOfView = new FieldOfView(radius);
+        x = size / 2;
+    }
+
+    @Benchmark
+    public void stepAndUpdate() {
+        east = !east;
+        fieldOfView.update(zone, east ? x + 1 : x, size / 2);
+    }
+}
@@ -0,0 +1,47 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the player's inventory lookups and updates. Items are counted in an array indexed by item id, so the
+ * cost does not depend on how many kinds of item the player carries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+
+    private Player player;
+    private Item bandage;
+
+    @Setup
+    public void setUp() {
+        GameEngine engine = new GameEngine();
+        player = engine.getPlayer();
+        bandage = engine.getItem("Bandage");
+        player.addItem(bandage, 1);
+        player.addItem(engine.getItem("Crowbar"), 1);
+    }
+
+    @Benchmark
+    public boolean hasItem() {
+        return player.hasItem("Crowbar");
+    }
+
+    @Benchmark
+    public boolean hasItemMissing() {
+        return player.hasItem("Security Keycard");
+    }
+
+    @Benchmark
+    public boolean removeAndAddItem() {
+        boolean removed = player.removeItem(bandage, 1);
+        player.addItem(bandage, 1);
+        return removed;
+    }
+}
@@ -0,0 +1,40 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single player step. The player walks back and forth along a row that is kept free of creatures and
+ * interactables, and is fed every step so the benchmark never fills the log with starvation messages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovePlayerBenchmark {
+
+    @Param({"20", "64", "256"})
+    public int size;
+
+    // Creatures per hundred tiles of the zone, so every size gets a sparse, a busy and a crowded zone.
+    @Param({"1", "5", "25"})
+    public int creaturePercent;
+
+    private GameEngine engine;
+    private boolean east;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkZones.engineWithZone(size, BenchmarkZones.creaturesFor(size, creaturePercent));
+    }
+
+    @Benchmark
+    public void movePlayer() {
+        east = !east;
+        engine.movePlayer(east ? 'D' : 'A');
+        engine.getPlayer().eat(1);
+    }
+}
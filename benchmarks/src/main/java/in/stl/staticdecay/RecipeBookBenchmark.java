@@ -0,0 +1,72 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures keeping the craftable recipes up to date with large recipe books. Each call gives the player one of an
+ * ingredient and takes it away again, which makes and breaks every recipe that was only waiting on it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeBookBenchmark {
+
+    private static final int ITEMS = 200;
+
+    @Param({"3", "1000", "10000"})
+    public int recipes;
+
+    private CraftableRecipes craftable;
+    private int item;
+
+    @Setup
+    public void setUp() {
+        ItemRegistry registry = new ItemRegistry();
+        Map<String, Item> items = new LinkedHashMap<>();
+        for (int i = 0; i < ITEMS; i++) {
+            Item resource = new Resource("Part " + i, "Filler for the benchmark.");
+            registry.register(resource);
+            items.put(resource.getName(), resource);
+        }
+        SplittableRandom random = new SplittableRandom(1);
+        List<CraftingRecipe> list = new ArrayList<>();
+        for (int r = 0; r < recipes; r++) {
+            Map<String, Integer> ingredients = new LinkedHashMap<>();
+            int count = 2 + random.nextInt(3);
+            while (ingredients.size() < count) {
+                ingredients.put("Part " + random.nextInt(ITEMS), 1 + random.nextInt(2));
+            }
+            list.add(new CraftingRecipe(ingredients, items.get("Part " + random.nextInt(ITEMS))));
+        }
+        RecipeBook book = new RecipeBook(list, registry);
+        craftable = new CraftableRecipes(book);
+        // Hold plenty of every part except one, so its recipes flip on every call.
+        item = 0;
+        for (int i = 1; i < ITEMS; i++) {
+            craftable.countChanged(i, 0, 5);
+        }
+    }
+
+    @Benchmark
+    public int addAndRemove() {
+        craftable.countChanged(item, 0, 5);
+        int size = craftable.size();
+        craftable.countChanged(item, 5, 0);
+        return size;
+    }
+
+    @Benchmark
+    public int firstCraftable() {
+        return craftable.next(0);
+    }
+}
@@ -0,0 +1,42 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to draw the map for one frame, with and without the low sanity scramble effect.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"20", "64", "256"})
+    public int size;
+
+    // Creatures per hundred tiles of the zone, so every size gets a sparse, a busy and a crowded zone.
+    @Param({"1", "5", "25"})
+    public int creaturePercent;
+
+    @Param({"100", "10"})
+    public int sanity;
+
+    private GameEngine engine;
+    private FrameCompositor compositor;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkZones.engineWithZone(size, BenchmarkZones.creaturesFor(size, creaturePercent));
+        engine.getPlayer().loseSanity(100 - sanity);
+        compositor = FrameCompositor.withDefaultStages();
+    }
+
+    @Benchmark
+    public char[] composeFrame() {
+        return compositor.compose(engine);
+    }
+}
@@ -0,0 +1,47 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replaying a recorded game from its journal. The journal is made by a scripted player that wanders at
+ * random and fights or flees whatever it meets, so a replay covers movement, creature turns and combat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+    private static final String DIRECTIONS = "wasd";
+
+    @Param({"100", "1000"})
+    public int commands;
+
+    private CommandJournal journal;
+
+    @Setup
+    public void setUp() {
+        long seed = 42;
+        GameEngine engine = new GameEngine(seed);
+        journal = new CommandJournal(seed);
+        engine.setJournal(journal);
+        SplittableRandom random = new SplittableRandom(seed);
+        while (journal.getCommands().size() < commands && !engine.getStatus().isOver()) {
+            if (engine.getStatus() == GameStatus.IN_COMBAT) {
+                engine.step(random.nextInt(4) == 0 ? Command.run() : Command.attack());
+            } else {
+                engine.step(Command.move(DIRECTIONS.charAt(random.nextInt(DIRECTIONS.length()))));
+            }
+        }
+    }
+
+    @Benchmark
+    public GameEngine replay() {
+        return journal.replay();
+    }
+}
@@ -0,0 +1,175 @@
+package in.stl.staticdecay;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of hosting many sessions in one {@link GameServer}. This is a plain program rather than a JMH
+ * benchmark, because it measures a standing population of connections instead of one repeated operation.
+ * <p>
+ * It connects the idle sessions, waits for each to receive its first frame and reports the heap and threads they
+ * hold. Then the first few sessions play rounds of moves together, and it reports the server's turn latency.
+ * The clients run in the same process on one selector thread, so their buffers are included in the heap figure, and
+ * every session needs two file descriptors from the process limit.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar in.stl.staticdecay.ServerLoadHarness [sessions] [active] [rounds]}
+ */
+public final class ServerLoadHarness {
+
+    private static final long QUIET_MILLIS = 500;
+
+    private ServerLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int active = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        active = Math.min(active, sessions);
+
+        try (GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                GameContent.standard(), 80);
+             Selector selector = Selector.open()) {
+            server.start();
+            System.out.println("Threads: " + (server.usesVirtualThreads() ? "virtual" : "platform"));
+            long heapBefore = usedHeap();
+            int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+            long rssBefore = residentSetKb();
+
+            List<SocketChannel> clients = new ArrayList<>(sessions);
+            long connectStart = System.nanoTime();
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+            for (int i = 0; i < sessions; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ);
+                clients.add(channel);
+                if (i % 256 == 255) drain(selector, 0);
+            }
+            long deadline = System.nanoTime() + 60_000_000_000L;
+            while (server.getActiveSessions() < sessions) {
+                drain(selector, 10);
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Only " + server.getActiveSessions() + " of " + sessions
+                            + " sessions started. Each session needs two file descriptors in this process.");
+                }
+            }
+            drainUntilQuiet(selector);
+            long connectMillis = (System.nanoTime() - connectStart) / 1_000_000;
+
+            long heapPerSession = (usedHeap() - heapBefore) / sessions;
+            int threadsPerSession = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+            long rssAfter = residentSetKb();
+            System.out.printf("Idle sessions: %d, connected in %d ms%n", sessions, connectMillis);
+            System.out.printf("Heap per idle session: %.1f KB%n", heapPerSession / 1024.0);
+            System.out.printf("Threads added: %d%n", threadsPerSession);
+            if (rssBefore > 0 && rssAfter > 0) {
+                System.out.printf("Resident memory per idle session: %.1f KB%n", (double) (rssAfter - rssBefore) / sessions);
+            }
+
+            long turnsBefore = server.getTurnCount();
+            long nanosBefore = server.getMeanTurnNanos() * turnsBefore;
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                ByteBuffer command = StandardCharsets.US_ASCII.encode(round % 2 == 0 ? "d\r\n" : "a\r\n");
+                for (int i = 0; i < active; i++) {
+                    command.rewind();
+                    while (command.hasRemaining()) {
+                        clients.get(i).write(command);
+                    }
+                }
+                long expected = turnsBefore + (long) (round + 1) * active;
+                while (server.getTurnCount() < expected) {
+                    drain(selector, 1);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            long turns = server.getTurnCount() - turnsBefore;
+            long meanNanos = turns == 0 ? 0 : (server.getMeanTurnNanos() * server.getTurnCount() - nanosBefore) / turns;
+            System.out.printf("Active sessions: %d, rounds: %d%n", active, rounds);
+            System.out.printf("Turns: %d in %d ms (%.0f turns/s)%n", turns, elapsed / 1_000_000,
+                    turns / (elapsed / 1e9));
+            System.out.printf("Server turn latency: mean %.1f us, max %.1f us%n", meanNanos / 1000.0,
+                    server.getMaxTurnNanos() / 1000.0);
+            System.out.printf("Round latency for %d concurrent moves: %.2f ms%n", active,
+                    elapsed / 1e6 / Math.max(1, rounds));
+
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private static final ByteBuffer SINK = ByteBuffer.allocateDirect(64 * 1024);
+
+    /**
+     * Reads and discards whatever the server has sent.
+     *
+     * @return The number of bytes read.
+     */
+    private static long drain(Selector selector, long timeoutMillis) throws IOException {
+        int ready = timeoutMillis == 0 ? selector.selectNow() : selector.select(timeoutMillis);
+        long total = 0;
+        if (ready == 0) return 0;
+        for (SelectionKey key : selector.selectedKeys()) {
+            SocketChannel channel = (SocketChannel) key.channel();
+            int n;
+            do {
+                SINK.clear();
+                n = channel.read(SINK);
+                if (n > 0) total += n;
+            } while (n > 0);
+            if (n < 0) {
+                key.cancel();
+            }
+        }
+        selector.selectedKeys().clear();
+        return total;
+    }
+
+    private static void drainUntilQuiet(Selector selector) throws IOException {
+        long quietSince = System.nanoTime();
+        while ((System.nanoTime() - quietSince) / 1_000_000 < QUIET_MILLIS) {
+            if (drain(selector, 50) > 0) {
+                quietSince = System.nanoTime();
+            }
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Reads the resident set size of the process on Linux.
+     *
+     * @return The resident set size in kilobytes, or -1 if it cannot be read.
+     */
+    private static long residentSetKb() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not on Linux.
+        }
+        return -1;
+    }
+}
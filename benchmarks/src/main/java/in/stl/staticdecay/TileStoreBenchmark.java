@@ -0,0 +1,56 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the heap and chunked file-backed tile stores. Each call takes one step along a diagonal walk through the map
+ * and reads the 9x9 tiles around the walker, roughly what a turn of rendering and AI touches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileStoreBenchmark {
+
+    @Param({"1024", "8192"})
+    public int size;
+
+    @Param({"array", "chunked"})
+    public String store;
+
+    private TileStore tiles;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        if (store.equals("array")) {
+            tiles = new ArrayTileStore(size, size, new char[0][]);
+        } else {
+            tiles = ChunkedTileStore.createTemporary(size, size, '#', 64);
+        }
+        for (int i = 0; i < size; i++) {
+            tiles.set(i, i, '.');
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        tiles.close();
+    }
+
+    @Benchmark
+    public int walkAndRead() {
+        step = step + 1 < size - 8 ? step + 1 : 0;
+        int walls = 0;
+        for (int y = step; y < step + 9; y++) {
+            for (int x = step; x < step + 9; x++) {
+                if (tiles.get(x, y) == '#') walls++;
+            }
+        }
+        return walls;
+    }
+}
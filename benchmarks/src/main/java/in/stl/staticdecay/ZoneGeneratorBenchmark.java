@@ -0,0 +1,30 @@
+package in.stl.staticdecay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating a zone on the common fork-join pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneGeneratorBenchmark {
+
+    @Param({"256", "1024", "4096"})
+    public int size;
+
+    private final ZoneGenerator generator = new ZoneGenerator(42);
+
+    @Benchmark
+    public GameZone generate() {
+        GameZone zone = generator.generate("Benchmark Zone", size, size);
+        // Large zones are backed by a temporary file, which closing deletes.
+        zone.close();
+        return zone;
+    }
+}
@@ -12,6 +12,6 @@ public class Anomaly extends Creature {
      * @param y The y-coordinate of the Anomaly.
      */
     public Anomaly(int x, int y) {
-        super("Anomaly", 200, 0, x, y);
+        super(CreatureArchetype.ANOMALY, x, y);
     }
 }
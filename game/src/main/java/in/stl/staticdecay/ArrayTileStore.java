@@ -0,0 +1,88 @@
+package in.stl.staticdecay;
+
+/**
+ * Stores all tiles of a zone in one flat array on the heap. Suited to the small, hand-made zones.
+ */
+public final class ArrayTileStore implements TileStore {
+
+    private final int width;
+    private final int height;
+    private char[] tiles;
+    private boolean shared;
+
+    /**
+     * Constructs a new ArrayTileStore from rows of tiles. Rows shorter than the width are padded with walls, and
+     * anything past the width is ignored.
+     *
+     * @param width  The width of the map.
+     * @param height The height of the map.
+     * @param layout The rows of the map.
+     */
+    public ArrayTileStore(int width, int height, char[][] layout) {
+        this.width = width;
+        this.height = height;
+        this.tiles = new char[width * height];
+        for (int y = 0; y < height; y++) {
+            char[] row = y < layout.length ? layout[y] : new char[0];
+            for (int x = 0; x < width; x++) {
+                tiles[y * width + x] = x < row.length ? row[x] : '#';
+            }
+        }
+    }
+
+    /**
+     * Constructs a new ArrayTileStore that takes ownership of a flat, row-major tile array.
+     *
+     * @param width  The width of the map.
+     * @param height The height of the map.
+     * @param tiles  The tiles, indexed by y * width + x.
+     */
+    ArrayTileStore(int width, int height, char[] tiles) {
+        if (tiles.length != width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " tiles but got " + tiles.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Creates an ArrayTileStore that reads from a tile array it shares with others, and copies the array the first time
+     * a tile is changed.
+     *
+     * @param width  The width of the map.
+     * @param height The height of the map.
+     * @param tiles  The shared tiles, indexed by y * width + x, which are never written to.
+     * @return The store.
+     */
+    static ArrayTileStore copyOnWrite(int width, int height, char[] tiles) {
+        ArrayTileStore store = new ArrayTileStore(width, height, tiles);
+        store.shared = true;
+        return store;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public char get(int x, int y) {
+        return tiles[y * width + x];
+    }
+
+    @Override
+    public void set(int x, int y, char tile) {
+        if (shared) {
+            if (tiles[y * width + x] == tile) return;
+            tiles = tiles.clone();
+            shared = false;
+        }
+        tiles[y * width + x] = tile;
+    }
+}
@@ -0,0 +1,249 @@
+package in.stl.staticdecay;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * The standard scripted players for balance runs.
+ */
+public final class BalancePolicies {
+
+    private static final String DIRECTIONS = "WASD";
+
+    private BalancePolicies() {
+    }
+
+    /**
+     * Gets a policy factory by name.
+     *
+     * @param name The name of the policy: "wanderer", "scavenger", "coward" or "tactician".
+     * @return A factory creating a policy for a game seed.
+     * @throws IllegalArgumentException If there is no policy with the name.
+     */
+    public static LongFunction<BalancePolicy> byName(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "wanderer" -> Wanderer::new;
+            case "scavenger" -> seed -> new Scavenger(seed, false);
+            case "coward" -> seed -> new Scavenger(seed, true);
+            case "tactician" -> seed -> new Scavenger(seed, false, true);
+            default -> throw new IllegalArgumentException("Unknown policy: " + name);
+        };
+    }
+
+    /**
+     * Walks at random, searches whatever it stands on, and fights everything it meets.
+     */
+    public static final class Wanderer implements BalancePolicy {
+
+        private final SplittableRandom random;
+
+        /**
+         * Constructs a new Wanderer object.
+         *
+         * @param seed The seed for the wanderer's choices.
+         */
+        public Wanderer(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public Command nextCommand(GameEngine engine) {
+            Command survival = survive(engine);
+            if (survival != null) return survival;
+            if (engine.getStatus() == GameStatus.IN_COMBAT) return Command.attack();
+            Player player = engine.getPlayer();
+            Interactable here = engine.getCurrentZone().getInteractableAt(player.getX(), player.getY());
+            if (here != null && isLoot(here)) return Command.look();
+            return Command.move(DIRECTIONS.charAt(random.nextInt(DIRECTIONS.length())));
+        }
+    }
+
+    /**
+     * Heads for the nearest creature, container, note, working broadcast equipment or untried door. When there is
+     * nothing left to do it walks at random. It crafts everything it can and equips the best weapon. A fleeing
+     * scavenger walks around creatures instead of hunting them, and runs from any fight it is caught in. A scavenger
+     * that weighs the odds works out each round, with {@link CombatOdds}, whether fighting on is sure to win, and runs
+     * if it is not.
+     */
+    public static final class Scavenger implements BalancePolicy {
+
+        private final SplittableRandom random;
+        private final boolean flees;
+        private final boolean weighsOdds;
+        private GameZone zone;
+        private int[] parent = new int[0];
+        private int[] queue = new int[0];
+        private final Set<Long> triedDoors = new HashSet<>();
+
+        /**
+         * Constructs a new Scavenger object.
+         *
+         * @param seed  The seed for the scavenger's choices.
+         * @param flees True to run from every fight instead of attacking.
+         */
+        public Scavenger(long seed, boolean flees) {
+            this(seed, flees, false);
+        }
+
+        /**
+         * Constructs a new Scavenger object that may weigh the odds of its fights.
+         *
+         * @param seed       The seed for the scavenger's choices.
+         * @param flees      True to run from every fight instead of attacking.
+         * @param weighsOdds True to attack only while fighting on is sure to win, and run otherwise. Ignored if the
+         *                   scavenger flees.
+         */
+        public Scavenger(long seed, boolean flees, boolean weighsOdds) {
+            this.random = new SplittableRandom(seed);
+            this.flees = flees;
+            this.weighsOdds = weighsOdds;
+        }
+
+        @Override
+        public Command nextCommand(GameEngine engine) {
+            Command survival = survive(engine);
+            if (survival != null) return survival;
+            if (engine.getStatus() == GameStatus.IN_COMBAT) return fight(engine);
+            Command upkeep = craftAndEquip(engine);
+            if (upkeep != null) return upkeep;
+
+            GameZone current = engine.getCurrentZone();
+            if (current != zone) {
+                zone = current;
+                triedDoors.clear();
+                int size = zone.getWidth() * zone.getHeight();
+                if (parent.length < size) {
+                    parent = new int[size];
+                    queue = new int[size];
+                }
+            }
+            Player player = engine.getPlayer();
+            Interactable here = zone.getInteractableAt(player.getX(), player.getY());
+            if (here != null && isWanted(here)) {
+                if (here.getType() == Interactable.Type.DOOR) {
+                    triedDoors.add(TileMap.key(here.getX(), here.getY()));
+                }
+                return Command.look();
+            }
+            Command step = stepTowardTarget(player.getX(), player.getY());
+            return step != null ? step : Command.move(DIRECTIONS.charAt(random.nextInt(DIRECTIONS.length())));
+        }
+
+        /**
+         * Checks if the scavenger wants to look at an interactable.
+         */
+        private boolean isWanted(Interactable interactable) {
+            return switch (interactable.getType()) {
+                case CONTAINER, NOTE -> true;
+                case DOOR -> !triedDoors.contains(TileMap.key(interactable.getX(), interactable.getY()));
+                case EQUIPMENT -> zone.getCreatureStore().count(CreatureArchetype.ANOMALY) == 0;
+            };
+        }
+
+        /**
+         * Finds the first step of a shortest path to the nearest tile worth visiting.
+         *
+         * @return The move, or null if nothing worth visiting can be reached.
+         */
+        private Command stepTowardTarget(int startX, int startY) {
+            int width = zone.getWidth();
+            int size = width * zone.getHeight();
+            Arrays.fill(parent, 0, size, -1);
+            int start = startY * width + startX;
+            parent[start] = start;
+            queue[0] = start;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int cell = queue[head++];
+                int x = cell % width;
+                int y = cell / width;
+                if (cell != start && isTarget(x, y)) {
+                    return firstStep(start, cell, width);
+                }
+                for (int d = 0; d < 4; d++) {
+                    int nx = x + (d == 1 ? -1 : d == 3 ? 1 : 0);
+                    int ny = y + (d == 0 ? -1 : d == 2 ? 1 : 0);
+                    if (zone.getTile(nx, ny) == '#' || (flees && zone.getCreatureStore().indexAt(nx, ny) >= 0)) continue;
+                    int next = ny * width + nx;
+                    if (parent[next] >= 0) continue;
+                    parent[next] = cell;
+                    queue[tail++] = next;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Chooses the scavenger's action in a fight. Weighing the odds costs the same however long the fight would
+         * last, as no rounds are played out.
+         */
+        private Command fight(GameEngine engine) {
+            if (flees) return Command.run();
+            if (!weighsOdds) return Command.attack();
+            CombatOdds odds = CombatOdds.of(engine.getPlayer(), engine.getCombatTarget(), 0);
+            return odds.getWinProbability() == 1 ? Command.attack() : Command.run();
+        }
+
+        private boolean isTarget(int x, int y) {
+            if (zone.getCreatureStore().indexAt(x, y) >= 0) return true;
+            Interactable interactable = zone.getInteractableAt(x, y);
+            return interactable != null && isWanted(interactable);
+        }
+
+        private Command firstStep(int start, int cell, int width) {
+            while (parent[cell] != start) {
+                cell = parent[cell];
+            }
+            int dx = cell % width - start % width;
+            int dy = cell / width - start / width;
+            return Command.move(dx < 0 ? 'A' : dx > 0 ? 'D' : dy < 0 ? 'W' : 'S');
+        }
+    }
+
+    /**
+     * Checks if an interactable is worth searching.
+     */
+    private static boolean isLoot(Interactable interactable) {
+        return interactable.getType() == Interactable.Type.CONTAINER || interactable.getType() == Interactable.Type.NOTE;
+    }
+
+    /**
+     * Heals or eats when the player is in trouble.
+     *
+     * @return The command that uses a consumable, or null if none is needed or available.
+     */
+    private static Command survive(GameEngine engine) {
+        Player player = engine.getPlayer();
+        if (player.getHp() < 40) {
+            if (player.hasItem("Med-kit")) return Command.useItem("Med-kit");
+            if (player.hasItem("Bandage")) return Command.useItem("Bandage");
+        }
+        if (player.getHunger() < 30 && player.hasItem("Canned Food")) return Command.useItem("Canned Food");
+        return null;
+    }
+
+    /**
+     * Crafts the first recipe the player can afford, or equips a weapon better than the current one.
+     *
+     * @return The command, or null if there is nothing to craft or equip.
+     */
+    private static Command craftAndEquip(GameEngine engine) {
+        Player player = engine.getPlayer();
+        int recipe = player.getCraftableRecipes().next(0);
+        if (recipe >= 0) return Command.craft(recipe);
+        int damage = player.getEquippedWeapon() != null ? player.getEquippedWeapon().getDamage() : 5;
+        ItemRegistry items = engine.getContent().getItemRegistry();
+        for (int id = 0; id < items.size(); id++) {
+            Item item = items.get(id);
+            if (item instanceof Weapon weapon && weapon.getDamage() > damage && player.getItemCount(item) > 0) {
+                return Command.useItem(weapon.getName());
+            }
+        }
+        return null;
+    }
+}
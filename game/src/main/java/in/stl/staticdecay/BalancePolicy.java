@@ -0,0 +1,17 @@
+package in.stl.staticdecay;
+
+/**
+ * A scripted player for balance runs. The {@link BalanceRunner} creates one policy per game, so a policy may keep
+ * state about the game it is playing, but it must draw any randomness from a source seeded for that game to keep runs
+ * reproducible.
+ */
+public interface BalancePolicy {
+
+    /**
+     * Chooses the next command.
+     *
+     * @param engine The game being played.
+     * @return The command to apply.
+     */
+    Command nextCommand(GameEngine engine);
+}
@@ -0,0 +1,214 @@
+package in.stl.staticdecay;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The aggregate results of a balance run. Every figure is an exact count, so reports over disjoint ranges of seeds
+ * can be merged in any grouping and give the same totals.
+ */
+public final class BalanceReport {
+
+    private final int maxTurns;
+    private int games;
+    private int wins;
+    private int losses;
+    private int quits;
+    private int unfinished;
+    private final long[] deathTurns;
+    private final long[] winTurns;
+    private final Map<String, Integer> causesOfDeath = new LinkedHashMap<>();
+    private final Map<String, Integer> zonesReached = new LinkedHashMap<>();
+
+    /**
+     * Constructs a new, empty BalanceReport object.
+     *
+     * @param maxTurns The longest game that can be recorded, in turns.
+     */
+    BalanceReport(int maxTurns) {
+        this.maxTurns = maxTurns;
+        this.deathTurns = new long[maxTurns + 1];
+        this.winTurns = new long[maxTurns + 1];
+    }
+
+    /**
+     * Records the outcome of one game.
+     *
+     * @param engine The game, after it has ended or run out of commands.
+     */
+    void record(GameEngine engine) {
+        games++;
+        int turn = Math.min(engine.getTurn(), maxTurns);
+        switch (engine.getStatus()) {
+            case WON -> {
+                wins++;
+                winTurns[turn]++;
+            }
+            case LOST -> {
+                losses++;
+                deathTurns[turn]++;
+                causesOfDeath.merge(engine.getCauseOfDeath(), 1, Integer::sum);
+            }
+            case QUIT -> quits++;
+            default -> unfinished++;
+        }
+        zonesReached.merge(engine.getCurrentZone().getName(), 1, Integer::sum);
+    }
+
+    /**
+     * Adds the results of another report to this one.
+     *
+     * @param other The report to add.
+     * @return This report.
+     */
+    BalanceReport merge(BalanceReport other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        quits += other.quits;
+        unfinished += other.unfinished;
+        for (int i = 0; i <= maxTurns; i++) {
+            deathTurns[i] += other.deathTurns[i];
+            winTurns[i] += other.winTurns[i];
+        }
+        other.causesOfDeath.forEach((cause, count) -> causesOfDeath.merge(cause, count, Integer::sum));
+        other.zonesReached.forEach((zone, count) -> zonesReached.merge(zone, count, Integer::sum));
+        return this;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return The number of games.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return The number of wins.
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Gets the number of games lost.
+     *
+     * @return The number of losses.
+     */
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * Gets the number of games the policy gave up.
+     *
+     * @return The number of quits.
+     */
+    public int getQuits() {
+        return quits;
+    }
+
+    /**
+     * Gets the number of games still going when they ran out of commands.
+     *
+     * @return The number of unfinished games.
+     */
+    public int getUnfinished() {
+        return unfinished;
+    }
+
+    /**
+     * Gets the fraction of games won.
+     *
+     * @return The win rate, between 0 and 1.
+     */
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * Gets a percentile of the turn on which the player died, over the games that were lost.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The turn, or -1 if no game was lost.
+     */
+    public int getDeathTurnPercentile(double percentile) {
+        return percentile(deathTurns, losses, percentile);
+    }
+
+    /**
+     * Gets a percentile of the turn on which the player won, over the games that were won.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The turn, or -1 if no game was won.
+     */
+    public int getWinTurnPercentile(double percentile) {
+        return percentile(winTurns, wins, percentile);
+    }
+
+    /**
+     * Gets how many games were lost to each cause of death, in the order the causes were first seen.
+     *
+     * @return A read-only map from cause of death to number of games.
+     */
+    public Map<String, Integer> getCausesOfDeath() {
+        return Collections.unmodifiableMap(causesOfDeath);
+    }
+
+    /**
+     * Gets how many games ended in each zone, in the order the zones were first seen.
+     *
+     * @return A read-only map from zone name to number of games.
+     */
+    public Map<String, Integer> getZonesReached() {
+        return Collections.unmodifiableMap(zonesReached);
+    }
+
+    /**
+     * Finds the nearest-rank percentile of a histogram.
+     */
+    private static int percentile(long[] histogram, int total, double percentile) {
+        if (total == 0) return -1;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int turn = 0; turn < histogram.length; turn++) {
+            seen += histogram[turn];
+            if (seen >= rank) return turn;
+        }
+        return histogram.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d%n", games));
+        sb.append(String.format("Won: %d (%.2f%%)  Lost: %d  Quit: %d  Unfinished: %d%n",
+                wins, getWinRate() * 100, losses, quits, unfinished));
+        if (losses > 0) {
+            sb.append(String.format("Turn of death: p10 %d  p50 %d  p90 %d  p99 %d  max %d%n",
+                    getDeathTurnPercentile(10), getDeathTurnPercentile(50), getDeathTurnPercentile(90),
+                    getDeathTurnPercentile(99), getDeathTurnPercentile(100)));
+        }
+        if (wins > 0) {
+            sb.append(String.format("Turn of victory: p10 %d  p50 %d  p90 %d%n",
+                    getWinTurnPercentile(10), getWinTurnPercentile(50), getWinTurnPercentile(90)));
+        }
+        appendCounts(sb, "Causes of death", causesOfDeath, losses);
+        appendCounts(sb, "Zones reached", zonesReached, games);
+        return sb.toString();
+    }
+
+    private static void appendCounts(StringBuilder sb, String title, Map<String, Integer> counts, int total) {
+        if (counts.isEmpty()) return;
+        sb.append(title).append(':').append(System.lineSeparator());
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> sb.append(String.format("  %-24s %8d (%.2f%%)%n",
+                        e.getKey(), e.getValue(), 100.0 * e.getValue() / total)));
+    }
+}
@@ -0,0 +1,105 @@
+package in.stl.staticdecay;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * Plays many seeded games with a scripted policy and aggregates the results, to check the effect of changes to
+ * creature stats, loot odds and stat drain without playing by hand.
+ * <p>
+ * Game {@code i} of a run is played from seed {@code firstSeed + i} by a policy created for that seed, so every game
+ * is a pure function of its seed. The games are split across a fork-join pool, and the partial reports are merged in
+ * seed order, so the report is the same for any number of threads.
+ */
+public final class BalanceRunner {
+
+    // Games played by one fork-join task before it stops splitting.
+    private static final int GAMES_PER_TASK = 64;
+
+    private final LongFunction<BalancePolicy> policies;
+    private final int maxCommands;
+
+    /**
+     * Constructs a new BalanceRunner object.
+     *
+     * @param policies    Creates the policy that plays the game with a given seed.
+     * @param maxCommands The number of commands after which a game is stopped and counted as unfinished.
+     */
+    public BalanceRunner(LongFunction<BalancePolicy> policies, int maxCommands) {
+        this.policies = policies;
+        this.maxCommands = maxCommands;
+    }
+
+    /**
+     * Plays games on the common fork-join pool.
+     *
+     * @param firstSeed The seed of the first game.
+     * @param games     The number of games to play.
+     * @return The aggregate results.
+     */
+    public BalanceReport run(long firstSeed, int games) {
+        return run(firstSeed, games, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays games on the given fork-join pool.
+     *
+     * @param firstSeed The seed of the first game.
+     * @param games     The number of games to play.
+     * @param pool      The pool to play the games on.
+     * @return The aggregate results.
+     */
+    public BalanceReport run(long firstSeed, int games, ForkJoinPool pool) {
+        return pool.invoke(new PlayGames(firstSeed, 0, games));
+    }
+
+    /**
+     * Plays one game to the end, or until it runs out of commands.
+     *
+     * @param seed The seed of the game.
+     * @return The engine in its final state.
+     */
+    GameEngine play(long seed) {
+        GameEngine engine = new GameEngine(seed);
+        BalancePolicy policy = policies.apply(seed);
+        for (int i = 0; i < maxCommands && !engine.getStatus().isOver(); i++) {
+            engine.step(policy.nextCommand(engine));
+        }
+        return engine;
+    }
+
+    /**
+     * Plays a range of games, splitting the range in half until it is small enough.
+     */
+    private final class PlayGames extends RecursiveTask<BalanceReport> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long firstSeed;
+        private final int from;
+        private final int to;
+
+        PlayGames(long firstSeed, int from, int to) {
+            this.firstSeed = firstSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BalanceReport compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                BalanceReport report = new BalanceReport(maxCommands);
+                for (int i = from; i < to; i++) {
+                    report.record(play(firstSeed + i));
+                }
+                return report;
+            }
+            int mid = (from + to) >>> 1;
+            PlayGames right = new PlayGames(firstSeed, mid, to);
+            right.fork();
+            BalanceReport left = new PlayGames(firstSeed, from, mid).compute();
+            return left.merge(right.join());
+        }
+    }
+}
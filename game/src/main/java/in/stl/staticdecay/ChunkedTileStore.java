@@ -0,0 +1,246 @@
+package in.stl.staticdecay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Stores the tiles of a very large zone in a file, split into square chunks that are read into memory on demand. A
+ * fixed number of chunk buffers are allocated up front; when a new chunk is needed, the least recently used one is
+ * written back if it changed and its buffer is reused. So the store never holds more than that many chunks, whatever
+ * the garbage collector does. Tiles are stored as one byte each, and bytes never written read back as the fill tile,
+ * so a fresh file is sparse and costs no disk space until it is written to.
+ */
+public final class ChunkedTileStore implements TileStore {
+
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int CHUNK_BYTES = CHUNK_SIZE * CHUNK_SIZE;
+
+    private final int width;
+    private final int height;
+    private final int chunksPerRow;
+    private final char fill;
+    private final FileChannel channel;
+    private final Path file;
+    private final boolean deleteOnClose;
+
+    private final int[] slotOfChunk;
+    private final byte[][] slotBuffers;
+    private final int[] slotChunks;
+    private final boolean[] slotDirty;
+    private final long[] slotLastUse;
+    private long clock;
+    private int lastChunk = -1;
+    private int lastSlot;
+    private byte[] lastBuffer;
+
+    private ChunkedTileStore(Path file, boolean deleteOnClose, int width, int height, char fill, int hotChunks)
+            throws IOException {
+        this.width = width;
+        this.height = height;
+        this.fill = fill;
+        this.file = file;
+        this.deleteOnClose = deleteOnClose;
+        this.chunksPerRow = (width + CHUNK_MASK) >>> CHUNK_SHIFT;
+        int chunkCount = chunksPerRow * ((height + CHUNK_MASK) >>> CHUNK_SHIFT);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = (long) chunkCount * CHUNK_BYTES;
+        if (channel.size() < size) {
+            // Writing the last byte extends the file without touching the blocks in between.
+            channel.write(ByteBuffer.allocate(1), size - 1);
+        }
+        this.slotOfChunk = new int[chunkCount];
+        Arrays.fill(slotOfChunk, -1);
+        this.slotBuffers = new byte[hotChunks][CHUNK_BYTES];
+        this.slotChunks = new int[hotChunks];
+        Arrays.fill(slotChunks, -1);
+        this.slotDirty = new boolean[hotChunks];
+        this.slotLastUse = new long[hotChunks];
+    }
+
+    /**
+     * Opens or creates a chunk file.
+     *
+     * @param file      The file holding the chunks.
+     * @param width     The width of the map.
+     * @param height    The height of the map.
+     * @param fill      The tile to read back for tiles that were never written.
+     * @param hotChunks The number of chunks to keep in memory at once.
+     * @return The store.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static ChunkedTileStore open(Path file, int width, int height, char fill, int hotChunks)
+            throws IOException {
+        return new ChunkedTileStore(file, false, width, height, fill, hotChunks);
+    }
+
+    /**
+     * Creates a store backed by a temporary file that is deleted when the store is closed.
+     *
+     * @param width     The width of the map.
+     * @param height    The height of the map.
+     * @param fill      The tile to read back for tiles that were never written.
+     * @param hotChunks The number of chunks to keep in memory at once.
+     * @return The store.
+     */
+    public static ChunkedTileStore createTemporary(int width, int height, char fill, int hotChunks) {
+        try {
+            Path file = Files.createTempFile("static-decay-zone", ".chunks");
+            file.toFile().deleteOnExit();
+            return new ChunkedTileStore(file, true, width, height, fill, hotChunks);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public char get(int x, int y) {
+        byte b = chunk(x, y)[offset(x, y)];
+        return b == 0 ? fill : (char) (b & 0xFF);
+    }
+
+    @Override
+    public void set(int x, int y, char tile) {
+        chunk(x, y)[offset(x, y)] = (byte) tile;
+        slotDirty[lastSlot] = true;
+    }
+
+    /**
+     * Reads in the chunks covering a square around a tile, so that the area around the player is hot before it is
+     * needed.
+     *
+     * @param x      The x-coordinate of the centre.
+     * @param y      The y-coordinate of the centre.
+     * @param radius The distance around the centre to cover.
+     */
+    public void preload(int x, int y, int radius) {
+        int cx0 = Math.max(0, x - radius) >>> CHUNK_SHIFT;
+        int cx1 = Math.min(width - 1, x + radius) >>> CHUNK_SHIFT;
+        int cy0 = Math.max(0, y - radius) >>> CHUNK_SHIFT;
+        int cy1 = Math.min(height - 1, y + radius) >>> CHUNK_SHIFT;
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                buffer(cy * chunksPerRow + cx);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of chunks currently in memory.
+     *
+     * @return The number of hot chunks.
+     */
+    public int getHotChunkCount() {
+        int count = 0;
+        for (int chunk : slotChunks) {
+            if (chunk >= 0) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        lastBuffer = null;
+        try {
+            // A temporary file is deleted right away, so its changed chunks are not worth writing.
+            if (!deleteOnClose) {
+                for (int slot = 0; slot < slotChunks.length; slot++) {
+                    writeBack(slot);
+                }
+            }
+            channel.close();
+            if (deleteOnClose) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] chunk(int x, int y) {
+        int chunk = (y >>> CHUNK_SHIFT) * chunksPerRow + (x >>> CHUNK_SHIFT);
+        if (chunk != lastChunk) {
+            lastBuffer = buffer(chunk);
+            lastSlot = slotOfChunk[chunk];
+            lastChunk = chunk;
+        }
+        return lastBuffer;
+    }
+
+    private static int offset(int x, int y) {
+        return ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+    }
+
+    private byte[] buffer(int chunk) {
+        int slot = slotOfChunk[chunk];
+        if (slot < 0) {
+            try {
+                slot = evictLeastRecentlyUsed();
+                read(chunk, slotBuffers[slot]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            slotChunks[slot] = chunk;
+            slotOfChunk[chunk] = slot;
+        }
+        slotLastUse[slot] = ++clock;
+        return slotBuffers[slot];
+    }
+
+    private int evictLeastRecentlyUsed() throws IOException {
+        int victim = 0;
+        for (int i = 0; i < slotChunks.length; i++) {
+            if (slotChunks[i] < 0) return i;
+            if (slotLastUse[i] < slotLastUse[victim]) victim = i;
+        }
+        writeBack(victim);
+        slotOfChunk[slotChunks[victim]] = -1;
+        if (slotChunks[victim] == lastChunk) {
+            lastChunk = -1;
+            lastBuffer = null;
+        }
+        slotChunks[victim] = -1;
+        return victim;
+    }
+
+    private void read(int chunk, byte[] buffer) throws IOException {
+        ByteBuffer target = ByteBuffer.wrap(buffer);
+        long position = (long) chunk * CHUNK_BYTES;
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position + target.position());
+            if (read < 0) {
+                // Past the end of a file shorter than the map, which reads back as never written.
+                Arrays.fill(buffer, target.position(), buffer.length, (byte) 0);
+                return;
+            }
+        }
+    }
+
+    private void writeBack(int slot) throws IOException {
+        if (!slotDirty[slot]) return;
+        ByteBuffer source = ByteBuffer.wrap(slotBuffers[slot]);
+        long position = (long) slotChunks[slot] * CHUNK_BYTES;
+        while (source.hasRemaining()) {
+            channel.write(source, position + source.position());
+        }
+        slotDirty[slot] = false;
+    }
+}
@@ -0,0 +1,177 @@
+package in.stl.staticdecay;
+
+/**
+ * The odds of a fight fought with {@link CombatPolicy#fleeAt}, worked out in closed form instead of by playing it.
+ * <p>
+ * Attacking involves no luck: the player's weapon damage and the creature's attack are fixed, so the rounds spent
+ * attacking follow directly from the two sides' hit points. Only running is random. Each attempt succeeds with
+ * probability p = {@link CombatResolver#ESCAPE_CHANCE} percent and a failed one gives the creature a free strike, so
+ * the number of failed attempts before escaping is geometric, cut short if the player dies first. Every figure below
+ * is a finite geometric sum, and computing the odds takes the same time however long the fight would last.
+ */
+public final class CombatOdds {
+
+    private static final double ESCAPE = CombatResolver.ESCAPE_CHANCE / 100.0;
+    private static final double FAIL = 1 - ESCAPE;
+
+    private final double winProbability;
+    private final double escapeProbability;
+    private final double lossProbability;
+    private final double expectedRounds;
+    private final double expectedHp;
+    private final double expectedSanity;
+
+    private CombatOdds(double winProbability, double escapeProbability, double lossProbability, double expectedRounds,
+                       double expectedHp, double expectedSanity) {
+        this.winProbability = winProbability;
+        this.escapeProbability = escapeProbability;
+        this.lossProbability = lossProbability;
+        this.expectedRounds = expectedRounds;
+        this.expectedHp = expectedHp;
+        this.expectedSanity = expectedSanity;
+    }
+
+    /**
+     * Works out the odds of the player fighting a creature as things stand.
+     *
+     * @param player   The player.
+     * @param creature The creature.
+     * @param fleeAtHp The hit points at or below which the player runs instead of attacking.
+     * @return The odds.
+     */
+    public static CombatOdds of(Player player, Creature creature, int fleeAtHp) {
+        int damage = player.getEquippedWeapon() != null ? player.getEquippedWeapon().getDamage()
+                : CombatResolver.UNARMED_DAMAGE;
+        return compute(player.getHp(), player.getSanity(), damage, creature.getHp(), creature.getAttack(),
+                creature.getArchetype() == CreatureArchetype.WHISPERER, fleeAtHp);
+    }
+
+    /**
+     * Works out the odds of a fight.
+     *
+     * @param playerHp       The player's hit points, more than 0.
+     * @param playerSanity   The player's sanity.
+     * @param damage         The damage of one of the player's attacks, more than 0.
+     * @param creatureHp     The creature's hit points.
+     * @param creatureAttack The damage of one of the creature's strikes. Ignored for a Whisperer.
+     * @param whisperer      True if the creature takes sanity rather than hit points.
+     * @param fleeAtHp       The hit points at or below which the player runs instead of attacking.
+     * @return The odds.
+     * @throws IllegalArgumentException If the player has no hit points or does no damage.
+     */
+    public static CombatOdds compute(int playerHp, int playerSanity, int damage, int creatureHp, int creatureAttack,
+                                     boolean whisperer, int fleeAtHp) {
+        if (playerHp <= 0 || damage <= 0) {
+            throw new IllegalArgumentException("The player needs hit points and damage, got " + playerHp + " HP and "
+                    + damage + " damage");
+        }
+        int hit = whisperer ? 0 : Math.max(0, creatureAttack);
+        int sanityHit = whisperer ? CombatResolver.WHISPER_SANITY_DAMAGE : 0;
+        int threshold = Math.max(0, fleeAtHp);
+
+        // The attacks needed to kill the creature, and the strikes the player takes before falling to the threshold.
+        long attacksToWin = Math.max(1, ceilDiv(creatureHp, damage));
+        long strikesToFlee = playerHp <= threshold ? 0 : hit == 0 ? Long.MAX_VALUE : ceilDiv(playerHp - threshold, hit);
+        if (strikesToFlee > attacksToWin - 1) {
+            long strikes = attacksToWin - 1;
+            return new CombatOdds(1, 0, 0, attacksToWin, playerHp - strikes * hit,
+                    Math.max(0, playerSanity - strikes * sanityHit));
+        }
+        long hp = playerHp - strikesToFlee * hit;
+        long sanity = Math.max(0, playerSanity - strikesToFlee * sanityHit);
+        if (hp <= 0) {
+            return new CombatOdds(0, 0, 1, strikesToFlee, 0, sanity);
+        }
+        if (hit == 0) {
+            // Every failed attempt costs sanity but the player never dies, so the player escapes in the end.
+            return new CombatOdds(0, 1, 0, strikesToFlee + 1 / ESCAPE, hp,
+                    sanity - expectedClampedLoss(sanity, sanityHit));
+        }
+        long survivableFailures = ceilDiv(hp, hit) - 1;
+        double escape = 1 - Math.pow(FAIL, survivableFailures + 1);
+        double hpOnEscape = hp * escape - hit * ESCAPE * weightedGeometricSum(survivableFailures);
+        return new CombatOdds(0, escape, 1 - escape, strikesToFlee + escape / ESCAPE, hpOnEscape, sanity);
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+
+    /**
+     * Sums k * FAIL^k for k from 0 to m.
+     */
+    private static double weightedGeometricSum(long m) {
+        return FAIL * (1 - (m + 1) * Math.pow(FAIL, m) + m * Math.pow(FAIL, m + 1)) / (ESCAPE * ESCAPE);
+    }
+
+    /**
+     * Works out the expected loss of a stat that loses a fixed amount for every failed escape attempt before the
+     * first success, but cannot fall below 0.
+     */
+    private static double expectedClampedLoss(long stat, int perFailure) {
+        if (stat <= 0 || perFailure <= 0) return 0;
+        // Once this many attempts have failed, the stat is gone whatever happens after.
+        long cap = ceilDiv(stat, perFailure);
+        return ESCAPE * perFailure * weightedGeometricSum(cap - 1) + stat * Math.pow(FAIL, cap);
+    }
+
+    /**
+     * Gets the chance that the player kills the creature.
+     *
+     * @return The probability, from 0 to 1.
+     */
+    public double getWinProbability() {
+        return winProbability;
+    }
+
+    /**
+     * Gets the chance that the player runs away.
+     *
+     * @return The probability, from 0 to 1.
+     */
+    public double getEscapeProbability() {
+        return escapeProbability;
+    }
+
+    /**
+     * Gets the chance that the player dies.
+     *
+     * @return The probability, from 0 to 1.
+     */
+    public double getLossProbability() {
+        return lossProbability;
+    }
+
+    /**
+     * Gets the expected length of the fight.
+     *
+     * @return The expected number of rounds.
+     */
+    public double getExpectedRounds() {
+        return expectedRounds;
+    }
+
+    /**
+     * Gets the hit points the player can expect to have left, counting a death as 0.
+     *
+     * @return The expected hit points after the fight.
+     */
+    public double getExpectedHp() {
+        return expectedHp;
+    }
+
+    /**
+     * Gets the sanity the player can expect to have left.
+     *
+     * @return The expected sanity after the fight.
+     */
+    public double getExpectedSanity() {
+        return expectedSanity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("win %.4f, escape %.4f, loss %.4f, %.2f rounds, %.2f HP and %.2f sanity left",
+                winProbability, escapeProbability, lossProbability, expectedRounds, expectedHp, expectedSanity);
+    }
+}
@@ -0,0 +1,28 @@
+package in.stl.staticdecay;
+
+/**
+ * Decides what the player does in each round of a fight, so fights can be resolved without asking anyone. A policy
+ * returns an attack, run or use-item command; any other command lets the round pass without the player acting.
+ */
+public interface CombatPolicy {
+
+    /**
+     * Chooses the player's action for the next round.
+     *
+     * @param player   The player.
+     * @param creature The creature the player is fighting.
+     * @param round    The number of rounds already fought.
+     * @return The command for the round.
+     */
+    Command decide(Player player, Creature creature, int round);
+
+    /**
+     * Creates a policy that attacks while the player has more than some hit points left, and then tries to run.
+     *
+     * @param fleeAtHp The hit points at or below which the player runs. 0 never runs, and 100 or more always runs.
+     * @return The policy.
+     */
+    static CombatPolicy fleeAt(int fleeAtHp) {
+        return (player, creature, round) -> player.getHp() > fleeAtHp ? Command.attack() : Command.run();
+    }
+}
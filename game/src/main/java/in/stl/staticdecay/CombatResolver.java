@@ -0,0 +1,161 @@
+package in.stl.staticdecay;
+
+import java.util.Random;
+
+/**
+ * Plays out fights between the player and a creature, without any input or output. Each round the player acts, and
+ * if the creature survives and the player did something, the creature strikes back: a Whisperer takes
+ * {@link #WHISPER_SANITY_DAMAGE} sanity, and every other creature deals its attack as damage. Running away succeeds
+ * {@link #ESCAPE_CHANCE} percent of the time and costs the player's action otherwise.
+ * <p>
+ * The engine plays every round of its fights through a resolver, so a fight resolved here plays out exactly as it
+ * would in a game with the same random rolls. {@link CombatOdds} works out the odds of a fight without playing it.
+ */
+public final class CombatResolver {
+
+    /**
+     * The damage the player deals without a weapon.
+     */
+    public static final int UNARMED_DAMAGE = 5;
+
+    /**
+     * The sanity a Whisperer takes each time it strikes.
+     */
+    public static final int WHISPER_SANITY_DAMAGE = 20;
+
+    /**
+     * The chance, in percent, that running away succeeds.
+     */
+    public static final int ESCAPE_CHANCE = 40;
+
+    /**
+     * How a round, or a fight, ended.
+     */
+    public enum Outcome {
+        /** Both are still standing and the fight goes on. */
+        ONGOING,
+        /** The creature died. */
+        WON,
+        /** The player ran away. */
+        ESCAPED,
+        /** The player died. */
+        LOST,
+        /** The player gave up. */
+        QUIT
+    }
+
+    private final Random random;
+
+    /**
+     * Constructs a new CombatResolver object.
+     *
+     * @param random The source of the escape rolls.
+     */
+    public CombatResolver(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Plays a fight to its end, or until a number of rounds have passed.
+     *
+     * @param player    The player, who takes the fight's damage.
+     * @param creature  The creature, which takes the player's damage.
+     * @param policy    What the player does each round.
+     * @param maxRounds The most rounds to play.
+     * @return How the fight ended, or {@link Outcome#ONGOING} if it was still going after the last round.
+     */
+    public Outcome resolve(Player player, Creature creature, CombatPolicy policy, int maxRounds) {
+        for (int round = 0; round < maxRounds; round++) {
+            Outcome outcome = round(player, creature, policy.decide(player, creature, round));
+            if (outcome != Outcome.ONGOING) {
+                return outcome;
+            }
+        }
+        return Outcome.ONGOING;
+    }
+
+    /**
+     * Plays one round of a fight.
+     *
+     * @param player   The player.
+     * @param creature The creature.
+     * @param command  The player's action.
+     * @return How the round ended.
+     */
+    public Outcome round(Player player, Creature creature, Command command) {
+        return round(player, creature, command, null, 0);
+    }
+
+    /**
+     * Plays one round of a fight, publishing what happens.
+     *
+     * @param player   The player.
+     * @param creature The creature.
+     * @param command  The player's action.
+     * @param events   The bus to publish the round's events on, or null for none.
+     * @param turn     The turn the events happen on.
+     * @return How the round ended.
+     */
+    Outcome round(Player player, Creature creature, Command command, GameEventBus events, int turn) {
+        boolean playerActed = false;
+        switch (command.getType()) {
+            case ATTACK -> {
+                int damage = player.getEquippedWeapon() != null ? player.getEquippedWeapon().getDamage()
+                        : UNARMED_DAMAGE;
+                creature.takeDamage(damage);
+                publish(events, GameEvent.Type.ATTACKED, turn, null, creature.getName(), damage, player);
+                playerActed = true;
+            }
+            case USE_ITEM -> {
+                Item itemToUse = player.findItem(command.getArgument());
+                if (itemToUse instanceof Consumable) {
+                    if (player.removeItem(itemToUse, 1)) {
+                        String effect = ((Consumable) itemToUse).applyEffect(player);
+                        publish(events, GameEvent.Type.USED, turn, effect, itemToUse.getName(), 1, player);
+                        playerActed = true;
+                    }
+                } else {
+                    publish(events, GameEvent.Type.MESSAGE, turn, "Invalid item or action.", null, 0, player);
+                }
+            }
+            case RUN -> {
+                if (random.nextInt(100) < ESCAPE_CHANCE) {
+                    publish(events, GameEvent.Type.MESSAGE, turn, "You successfully escaped!", null, 0, player);
+                    return Outcome.ESCAPED;
+                }
+                publish(events, GameEvent.Type.MESSAGE, turn, "You failed to escape!", null, 0, player);
+                playerActed = true;
+            }
+            case QUIT -> {
+                return Outcome.QUIT;
+            }
+            default -> {
+            }
+        }
+        if (playerActed && creature.getHp() > 0) {
+            if (creature.getArchetype() == CreatureArchetype.WHISPERER) {
+                player.loseSanity(WHISPER_SANITY_DAMAGE);
+                publish(events, GameEvent.Type.WHISPERED, turn, null, creature.getName(), WHISPER_SANITY_DAMAGE,
+                        player);
+            } else {
+                player.takeDamage(creature.getAttack());
+                publish(events, GameEvent.Type.HIT, turn, null, creature.getName(), creature.getAttack(), player);
+            }
+            if (player.getHp() <= 0) {
+                return Outcome.LOST;
+            }
+        }
+        if (creature.getHp() <= 0) {
+            publish(events, GameEvent.Type.DEFEATED, turn, null, creature.getName(), 0, player);
+            return Outcome.WON;
+        }
+        return Outcome.ONGOING;
+    }
+
+    private static void publish(GameEventBus events, GameEvent.Type type, int turn, String text, String subject,
+                                int amount, Player player) {
+        if (events != null) {
+            events.publish(type, turn, text, subject, amount, player.getX(), player.getY());
+        }
+    }
+}
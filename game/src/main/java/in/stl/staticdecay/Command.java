@@ -0,0 +1,243 @@
+package in.stl.staticdecay;
+
+/**
+ * Represents a single player command in the Static Decay game. Commands are plain values, so they can come from the
+ * terminal, a script or a replay just as well.
+ */
+public final class Command {
+
+    /**
+     * The kinds of command the engine understands.
+     */
+    public enum Type {
+        MOVE, LOOK, CRAFT, USE_ITEM, ATTACK, RUN, WAIT, QUIT, INVALID
+    }
+
+    /**
+     * The craft count that crafts a recipe as many times as the player can pay for.
+     */
+    public static final int CRAFT_MAX = Integer.MAX_VALUE;
+
+    private static final Command LOOK = new Command(Type.LOOK, '\0', -1, 1, null);
+    private static final Command ATTACK = new Command(Type.ATTACK, '\0', -1, 1, null);
+    private static final Command RUN = new Command(Type.RUN, '\0', -1, 1, null);
+    private static final Command WAIT = new Command(Type.WAIT, '\0', -1, 1, null);
+    private static final Command QUIT = new Command(Type.QUIT, '\0', -1, 1, null);
+    private static final Command MOVE_NORTH = new Command(Type.MOVE, 'W', -1, 1, null);
+    private static final Command MOVE_WEST = new Command(Type.MOVE, 'A', -1, 1, null);
+    private static final Command MOVE_SOUTH = new Command(Type.MOVE, 'S', -1, 1, null);
+    private static final Command MOVE_EAST = new Command(Type.MOVE, 'D', -1, 1, null);
+
+    private final Type type;
+    private final char direction;
+    private final int index;
+    private final int count;
+    private final String argument;
+
+    private Command(Type type, char direction, int index, int count, String argument) {
+        this.type = type;
+        this.direction = direction;
+        this.index = index;
+        this.count = count;
+        this.argument = argument;
+    }
+
+    /**
+     * Creates a move command.
+     *
+     * @param direction The direction to move in, one of W, A, S or D.
+     * @return The move command.
+     */
+    public static Command move(char direction) {
+        return switch (Character.toUpperCase(direction)) {
+            case 'W' -> MOVE_NORTH;
+            case 'A' -> MOVE_WEST;
+            case 'S' -> MOVE_SOUTH;
+            case 'D' -> MOVE_EAST;
+            default -> throw new IllegalArgumentException("Unknown direction: " + direction);
+        };
+    }
+
+    /**
+     * Creates a command to look at the current tile.
+     *
+     * @return The look command.
+     */
+    public static Command look() {
+        return LOOK;
+    }
+
+    /**
+     * Creates a command to craft a recipe. An index outside the recipe list does nothing.
+     *
+     * @param recipeIndex The index of the recipe to craft.
+     * @return The craft command.
+     */
+    public static Command craft(int recipeIndex) {
+        return craft(recipeIndex, 1);
+    }
+
+    /**
+     * Creates a command to craft a recipe several times over. Either every craft happens or none does.
+     *
+     * @param recipeIndex The index of the recipe to craft.
+     * @param count       How many times to craft it, or {@link #CRAFT_MAX} for as many times as possible.
+     * @return The craft command.
+     */
+    public static Command craft(int recipeIndex, int count) {
+        return new Command(Type.CRAFT, '\0', recipeIndex, count, null);
+    }
+
+    /**
+     * Creates a command to use or equip an item by name.
+     *
+     * @param itemName The name of the item, or null to close the inventory without using anything.
+     * @return The use item command.
+     */
+    public static Command useItem(String itemName) {
+        return new Command(Type.USE_ITEM, '\0', -1, 1, itemName);
+    }
+
+    /**
+     * Creates a command to attack the creature the player is fighting.
+     *
+     * @return The attack command.
+     */
+    public static Command attack() {
+        return ATTACK;
+    }
+
+    /**
+     * Creates a command to try to escape from combat.
+     *
+     * @return The run command.
+     */
+    public static Command run() {
+        return RUN;
+    }
+
+    /**
+     * Creates a command that lets a turn pass without doing anything.
+     *
+     * @return The wait command.
+     */
+    public static Command waitTurn() {
+        return WAIT;
+    }
+
+    /**
+     * Creates a command to give up the game.
+     *
+     * @return The quit command.
+     */
+    public static Command quit() {
+        return QUIT;
+    }
+
+    /**
+     * Creates a command for input that could not be understood.
+     *
+     * @param message The message to log for the invalid input.
+     * @return The invalid command.
+     */
+    public static Command invalid(String message) {
+        return new Command(Type.INVALID, '\0', -1, 1, message);
+    }
+
+    /**
+     * Encodes the command as a single line of text that {@link #decode} turns back into an equal command.
+     *
+     * @return The encoded command.
+     */
+    public String encode() {
+        return switch (type) {
+            case MOVE -> "MOVE " + direction;
+            case CRAFT -> "CRAFT " + index + (count == 1 ? "" : count == CRAFT_MAX ? " MAX" : " " + count);
+            case USE_ITEM, INVALID -> argument == null ? type.name() : type.name() + " " + argument;
+            default -> type.name();
+        };
+    }
+
+    /**
+     * Decodes a command encoded by {@link #encode}.
+     *
+     * @param line The encoded command.
+     * @return The command.
+     * @throws IllegalArgumentException If the line is not a valid command.
+     */
+    public static Command decode(String line) {
+        int space = line.indexOf(' ');
+        String name = space < 0 ? line : line.substring(0, space);
+        String rest = space < 0 ? null : line.substring(space + 1);
+        Type type = Type.valueOf(name);
+        return switch (type) {
+            case MOVE -> move(rest.charAt(0));
+            case LOOK -> look();
+            case CRAFT -> decodeCraft(rest);
+            case USE_ITEM -> useItem(rest);
+            case ATTACK -> attack();
+            case RUN -> run();
+            case WAIT -> waitTurn();
+            case QUIT -> quit();
+            case INVALID -> invalid(rest);
+        };
+    }
+
+    private static Command decodeCraft(String rest) {
+        int space = rest.indexOf(' ');
+        if (space < 0) return craft(Integer.parseInt(rest));
+        String count = rest.substring(space + 1);
+        return craft(Integer.parseInt(rest.substring(0, space)),
+                count.equals("MAX") ? CRAFT_MAX : Integer.parseInt(count));
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+
+    /**
+     * Gets the type of the command.
+     *
+     * @return The type of the command.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the direction of a move command.
+     *
+     * @return The direction, one of W, A, S or D.
+     */
+    public char getDirection() {
+        return direction;
+    }
+
+    /**
+     * Gets the recipe index of a craft command.
+     *
+     * @return The recipe index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets how many times a craft command crafts its recipe.
+     *
+     * @return The count, or {@link #CRAFT_MAX} for as many times as possible.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the text argument of the command, such as the item name or the invalid input message.
+     *
+     * @return The text argument, or null if there is none.
+     */
+    public String getArgument() {
+        return argument;
+    }
+}
@@ -0,0 +1,148 @@
+package in.stl.staticdecay;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An append-only record of a game: the seed it started with and every command the player gave. Replaying a journal
+ * rebuilds exactly the same game without any console, as fast as the engine can run.
+ * <p>
+ * On disk a journal is a text file with a header line, a seed line and one encoded command per line.
+ */
+public class CommandJournal implements AutoCloseable {
+
+    private static final String HEADER = "# static-decay journal v1";
+
+    private final long seed;
+    private final List<Command> commands = new ArrayList<>();
+    private final Writer writer;
+
+    /**
+     * Constructs a new, in-memory CommandJournal.
+     *
+     * @param seed The seed of the recorded game.
+     */
+    public CommandJournal(long seed) {
+        this(seed, null);
+    }
+
+    private CommandJournal(long seed, Writer writer) {
+        this.seed = seed;
+        this.writer = writer;
+    }
+
+    /**
+     * Creates a journal that also writes every command to a file as it is appended. Each command is flushed straight
+     * away, so the file is complete up to the last turn even if the game crashes.
+     *
+     * @param seed The seed of the recorded game.
+     * @param file The file to write.
+     * @return The journal.
+     * @throws IOException If the file cannot be written.
+     */
+    public static CommandJournal toFile(long seed, Path file) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.newLine();
+        writer.write("seed " + seed);
+        writer.newLine();
+        writer.flush();
+        return new CommandJournal(seed, writer);
+    }
+
+    /**
+     * Reads a journal written by {@link #toFile}.
+     *
+     * @param file The file to read.
+     * @return The journal, held in memory.
+     * @throws IOException If the file cannot be read or is not a journal.
+     */
+    public static CommandJournal read(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException(file + " is not a Static Decay journal");
+            }
+            String seedLine = reader.readLine();
+            if (seedLine == null || !seedLine.startsWith("seed ")) {
+                throw new IOException(file + " has no seed line");
+            }
+            CommandJournal journal = new CommandJournal(Long.parseLong(seedLine.substring(5)));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    try {
+                        journal.commands.add(Command.decode(line));
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        throw new IOException("Invalid command in " + file + ": " + line, e);
+                    }
+                }
+            }
+            return journal;
+        }
+    }
+
+    /**
+     * Appends a command to the journal.
+     *
+     * @param command The command to append.
+     */
+    public void append(Command command) {
+        commands.add(command);
+        if (writer != null) {
+            try {
+                writer.write(command.encode());
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the seed of the recorded game.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the recorded commands, oldest first.
+     *
+     * @return A read-only view of the commands.
+     */
+    public List<Command> getCommands() {
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Replays the journal on a new engine.
+     *
+     * @return The engine in the state the recorded game ended in.
+     */
+    public GameEngine replay() {
+        GameEngine engine = new GameEngine(seed);
+        for (Command command : commands) {
+            engine.step(command);
+        }
+        return engine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
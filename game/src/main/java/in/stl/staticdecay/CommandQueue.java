@@ -0,0 +1,101 @@
+package in.stl.staticdecay;
+
+import java.util.ArrayDeque;
+
+/**
+ * Holds commands typed ahead on one line, so a line like {@code wwwddd} or {@code 3w 2d} walks several steps before
+ * the game asks for more input. A batch line is made of W, A, S and D moves, L to look and . to wait, each optionally
+ * preceded by how many times to repeat it; spaces and commas between them are ignored.
+ */
+public final class CommandQueue {
+
+    /**
+     * The most commands one line can queue. Longer batches are cut off.
+     */
+    public static final int MAX_COMMANDS = 256;
+
+    private final ArrayDeque<Command> commands = new ArrayDeque<>();
+
+    /**
+     * Queues the commands of a batch line.
+     *
+     * @param line The line, in any case.
+     * @return True if the line was a batch and its commands were queued, false if it was something else, in which case
+     * nothing was queued.
+     */
+    public boolean parse(String line) {
+        int start = commands.size();
+        int repeat = -1;
+        for (int i = 0; i < line.length(); i++) {
+            char c = Character.toUpperCase(line.charAt(i));
+            if (c >= '0' && c <= '9') {
+                repeat = Math.min(MAX_COMMANDS, Math.max(0, repeat) * 10 + (c - '0'));
+                continue;
+            }
+            if (c == ' ' || c == ',') {
+                if (repeat >= 0) return rollBack(start);
+                continue;
+            }
+            Command command = switch (c) {
+                case 'W', 'A', 'S', 'D' -> Command.move(c);
+                case 'L' -> Command.look();
+                case '.' -> Command.waitTurn();
+                default -> null;
+            };
+            if (command == null) return rollBack(start);
+            for (int n = repeat < 0 ? 1 : repeat; n > 0 && commands.size() - start < MAX_COMMANDS; n--) {
+                commands.addLast(command);
+            }
+            repeat = -1;
+        }
+        if (repeat >= 0 || commands.size() == start) return rollBack(start);
+        return true;
+    }
+
+    /**
+     * Drops the commands queued after a point, for a line that turned out not to be a batch.
+     *
+     * @param size The number of commands queued before the line.
+     * @return False, for the caller to return.
+     */
+    private boolean rollBack(int size) {
+        while (commands.size() > size) {
+            commands.pollLast();
+        }
+        return false;
+    }
+
+    /**
+     * Takes the next queued command.
+     *
+     * @return The command, or null if none are queued.
+     */
+    public Command poll() {
+        return commands.pollFirst();
+    }
+
+    /**
+     * Checks if any commands are queued.
+     *
+     * @return True if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    /**
+     * Gets the number of queued commands.
+     *
+     * @return The number of commands.
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * Drops every queued command, for example when something interrupts the batch.
+     */
+    public void clear() {
+        commands.clear();
+    }
+}
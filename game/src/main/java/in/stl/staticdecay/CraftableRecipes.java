@@ -0,0 +1,96 @@
+package in.stl.staticdecay;
+
+/**
+ * Keeps track of which recipes a player can craft right now. For every recipe it counts the ingredients the player
+ * does not have enough of, and it is told about every change to the player's item counts, so it only revisits the
+ * recipes that use the item that changed. Asking whether a recipe is craftable, or for the craftable recipes in order,
+ * never looks at the inventory.
+ */
+public final class CraftableRecipes {
+
+    private final RecipeBook book;
+    private final int[] missing;
+    private final long[] craftable;
+    private int size;
+
+    /**
+     * Constructs a new CraftableRecipes object for an empty inventory.
+     *
+     * @param book The recipes to track.
+     */
+    CraftableRecipes(RecipeBook book) {
+        this.book = book;
+        this.missing = new int[book.size()];
+        this.craftable = new long[(book.size() + 63) >>> 6];
+        for (int r = 0; r < missing.length; r++) {
+            missing[r] = book.getIngredientCount(r);
+            if (missing[r] == 0) {
+                // Nothing to collect, so the recipe is craftable from the start and no count change ever touches it.
+                craftable[r >>> 6] |= 1L << r;
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Updates the recipes that use an item whose count changed.
+     *
+     * @param itemId The item.
+     * @param before The count before the change.
+     * @param after  The count after the change.
+     */
+    void countChanged(int itemId, int before, int after) {
+        for (int use = book.firstUse(itemId); use < book.firstUse(itemId + 1); use++) {
+            int needed = book.useAmount(use);
+            boolean wasMet = before >= needed;
+            if (wasMet == after >= needed) continue;
+            int recipe = book.useRecipe(use);
+            if (wasMet) {
+                if (missing[recipe]++ == 0) {
+                    craftable[recipe >>> 6] &= ~(1L << recipe);
+                    size--;
+                }
+            } else if (--missing[recipe] == 0) {
+                craftable[recipe >>> 6] |= 1L << recipe;
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Checks if a recipe can be crafted at least once.
+     *
+     * @param recipe The id of the recipe.
+     * @return True if the player has every ingredient, false otherwise.
+     */
+    public boolean contains(int recipe) {
+        return (craftable[recipe >>> 6] & (1L << recipe)) != 0;
+    }
+
+    /**
+     * Gets the number of recipes that can be crafted.
+     *
+     * @return The number of craftable recipes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the next craftable recipe.
+     *
+     * @param from The recipe id to start looking at.
+     * @return The lowest craftable recipe id at or after {@code from}, or -1 if there is none.
+     */
+    public int next(int from) {
+        if (from < 0) from = 0;
+        int word = from >>> 6;
+        if (word >= craftable.length) return -1;
+        long bits = craftable[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) return (word << 6) + Long.numberOfTrailingZeros(bits);
+            if (++word == craftable.length) return -1;
+            bits = craftable[word];
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package in.stl.staticdecay;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a crafting recipe in the Static Decay game. Recipes are immutable and may be shared by any number of
+ * games; a recipe's id belongs to the {@link RecipeBook} it is compiled into.
+ */
+public class CraftingRecipe {
+
+    private final Map<String, Integer> ingredients;
+    private final Item result;
+    private final String ingredientList;
+
+    /**
+     * Constructs a new CraftingRecipe object.
+     *
+     * @param ingredients The ingredients required for the recipe.
+     * @param result      The item produced by the recipe.
+     */
+    public CraftingRecipe(Map<String, Integer> ingredients, Item result) {
+        this.ingredients = ingredients;
+        this.result = result;
+        this.ingredientList = ingredients.entrySet()
+                .stream()
+                .map(e -> e.getKey() + " x" + e.getValue())
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Reads a recipe from its line in the recipe file, in the form "RESULT &lt;- INGREDIENT xCOUNT, INGREDIENT xCOUNT".
+     *
+     * @param line  The line to read.
+     * @param items Every item of the game, keyed by name.
+     * @return The recipe, with its ingredients in the order given.
+     * @throws IllegalArgumentException If the line is malformed or names an unknown item.
+     */
+    public static CraftingRecipe parse(String line, Map<String, Item> items) {
+        int arrow = line.indexOf("<-");
+        if (arrow < 0) {
+            throw new IllegalArgumentException("Expected \"RESULT <- INGREDIENT xCOUNT, ...\": " + line);
+        }
+        Item result = requireItem(line.substring(0, arrow).trim(), items);
+        Map<String, Integer> ingredients = new LinkedHashMap<>();
+        for (String part : line.substring(arrow + 2).split(",")) {
+            String ingredient = part.trim();
+            int times = ingredient.lastIndexOf(" x");
+            if (times < 0) {
+                throw new IllegalArgumentException("Expected \"INGREDIENT xCOUNT\": " + ingredient);
+            }
+            String name = requireItem(ingredient.substring(0, times).trim(), items).getName();
+            int count = Integer.parseInt(ingredient.substring(times + 2).trim());
+            if (count <= 0 || ingredients.put(name, count) != null) {
+                throw new IllegalArgumentException("Bad ingredient in recipe for " + result.getName() + ": "
+                        + ingredient);
+            }
+        }
+        return new CraftingRecipe(Collections.unmodifiableMap(ingredients), result);
+    }
+
+    private static Item requireItem(String name, Map<String, Item> items) {
+        Item item = items.get(name);
+        if (item == null) {
+            throw new IllegalArgumentException("Unknown item: " + name);
+        }
+        return item;
+    }
+
+    /**
+     * Gets the ingredients required for the recipe.
+     *
+     * @return The ingredients required for the recipe.
+     */
+    public Map<String, Integer> getIngredients() {
+        return ingredients;
+    }
+
+    /**
+     * Gets the ingredients for display, such as "Dirty Rags x1, Chemicals x1". Built once with the recipe.
+     *
+     * @return The ingredients as text.
+     */
+    public String getIngredientList() {
+        return ingredientList;
+    }
+
+    /**
+     * Gets the item produced by the recipe.
+     *
+     * @return The item produced by the recipe.
+     */
+    public Item getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,196 @@
+package in.stl.staticdecay;
+
+/**
+ * Represents a creature in the Static Decay game. A creature on its own holds its own state. Once it is in a zone,
+ * its state lives in the zone's {@link CreatureStore} and this object reads and writes it there, until the creature
+ * is removed from the zone.
+ */
+public class Creature {
+
+    protected String name;
+    protected int hp;
+    protected int attack;
+    protected int x;
+    protected int y;
+    private final CreatureArchetype archetype;
+    private CreatureStore store;
+    private int handle = -1;
+
+    /**
+     * Constructs a new Creature object.
+     *
+     * @param name   The name of the creature.
+     * @param hp     The hit points of the creature.
+     * @param attack The attack power of the creature.
+     * @param x      The x-coordinate of the creature.
+     * @param y      The y-coordinate of the creature.
+     */
+    public Creature(String name, int hp, int attack, int x, int y) {
+        this(CreatureArchetype.CUSTOM, name, hp, attack, x, y);
+    }
+
+    /**
+     * Constructs a new Creature object with the name and starting stats of an archetype.
+     *
+     * @param archetype The kind of creature.
+     * @param x         The x-coordinate of the creature.
+     * @param y         The y-coordinate of the creature.
+     */
+    Creature(CreatureArchetype archetype, int x, int y) {
+        this(archetype, archetype.getDisplayName(), archetype.getHp(), archetype.getAttack(), x, y);
+    }
+
+    private Creature(CreatureArchetype archetype, String name, int hp, int attack, int x, int y) {
+        this.archetype = archetype;
+        this.name = name;
+        this.hp = hp;
+        this.attack = attack;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Reduces the creature's hit points by the specified amount.
+     *
+     * @param damage The amount of damage to take.
+     */
+    public void takeDamage(int damage) {
+        if (store != null) {
+            store.damage(store.indexOf(handle), damage);
+        } else {
+            this.hp -= damage;
+        }
+    }
+
+    /**
+     * Gets the name of the creature.
+     *
+     * @return The name of the creature.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the kind of the creature.
+     *
+     * @return The archetype of the creature.
+     */
+    public CreatureArchetype getArchetype() {
+        return archetype;
+    }
+
+    /**
+     * Gets the current hit points of the creature.
+     *
+     * @return The current hit points of the creature.
+     */
+    public int getHp() {
+        return store != null ? store.getHp(store.indexOf(handle)) : hp;
+    }
+
+    /**
+     * Gets the attack power of the creature.
+     *
+     * @return The attack power of the creature.
+     */
+    public int getAttack() {
+        return store != null ? store.getAttack(store.indexOf(handle)) : attack;
+    }
+
+    /**
+     * Gets the x-coordinate of the creature.
+     *
+     * @return The x-coordinate of the creature.
+     */
+    public int getX() {
+        return store != null ? store.getX(store.indexOf(handle)) : x;
+    }
+
+    /**
+     * Gets the y-coordinate of the creature.
+     *
+     * @return The y-coordinate of the creature.
+     */
+    public int getY() {
+        return store != null ? store.getY(store.indexOf(handle)) : y;
+    }
+
+    /**
+     * Sets the x-coordinate of the creature.
+     *
+     * @param x The new x-coordinate.
+     */
+    public void setX(int x) {
+        setPosition(x, getY());
+    }
+
+    /**
+     * Sets the y-coordinate of the creature.
+     *
+     * @param y The new y-coordinate.
+     */
+    public void setY(int y) {
+        setPosition(getX(), y);
+    }
+
+    /**
+     * Moves the creature to new coordinates, keeping the spatial index of its zone up to date.
+     *
+     * @param x The new x-coordinate.
+     * @param y The new y-coordinate.
+     */
+    public void setPosition(int x, int y) {
+        if (store != null) {
+            store.move(store.indexOf(handle), x, y);
+        } else {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Binds the creature to the store that now holds its state.
+     *
+     * @param store  The store.
+     * @param handle The creature's handle in the store.
+     */
+    void attach(CreatureStore store, int handle) {
+        this.store = store;
+        this.handle = handle;
+    }
+
+    /**
+     * Unbinds the creature from its store, keeping the state it had there.
+     *
+     * @param x  The last x-coordinate.
+     * @param y  The last y-coordinate.
+     * @param hp The last hit points.
+     */
+    void detach(int x, int y, int hp) {
+        this.store = null;
+        this.handle = -1;
+        this.x = x;
+        this.y = y;
+        this.hp = hp;
+    }
+
+    /**
+     * Checks if the creature's state lives in the given store.
+     *
+     * @param store The store.
+     * @return True if the creature belongs to the store.
+     */
+    boolean isIn(CreatureStore store) {
+        return this.store == store && store != null;
+    }
+
+    /**
+     * Gets the creature's handle in its store.
+     *
+     * @return The handle, or -1 if the creature is not in a store.
+     */
+    int getHandle() {
+        return handle;
+    }
+}
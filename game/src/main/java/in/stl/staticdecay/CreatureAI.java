@@ -0,0 +1,175 @@
+package in.stl.staticdecay;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Moves the creatures of a zone toward the player, in two phases. First every creature that is close enough to the
+ * player proposes a step, looking only at where everyone stood at the start of the turn. Creatures walk down a shared
+ * {@link FlowField}, so they find their way around walls instead of pressing against them. The proposals do not depend
+ * on each other, so large batches are worked out in parallel on a fork-join pool. Then one pass applies the proposals
+ * in order of creature handle: a creature steps unless another creature is in the way, so when two creatures want the
+ * same tile the one with the lower handle gets it.
+ * <p>
+ * Because the outcome only depends on the proposals and the handle order, a turn gives the same result on any number
+ * of threads.
+ */
+public final class CreatureAI {
+
+    // Proposals are only split across threads for at least this many creatures; below it a fork costs more than it saves.
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int CREATURES_PER_TASK = 2048;
+    private static final long NO_MOVE = FlowField.NO_STEP;
+    // Roughly how many creatures can be scanned in the time it takes to probe one tile of the spatial index.
+    private static final int PROBE_COST = 16;
+
+    private final int radius;
+    private final ForkJoinPool pool;
+    private final FlowField field;
+    private int[] candidates = new int[64];
+    private long[] proposals = new long[64];
+    private long[] order = new long[64];
+
+    /**
+     * Constructs a new CreatureAI object that proposes on the common fork-join pool.
+     *
+     * @param radius How far away, in steps, a creature notices the player.
+     */
+    public CreatureAI(int radius) {
+        this(radius, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new CreatureAI object.
+     *
+     * @param radius How far away, in steps, a creature notices the player.
+     * @param pool   The pool to work out large batches of proposals on, or null to always work on the calling thread.
+     */
+    public CreatureAI(int radius, ForkJoinPool pool) {
+        this.radius = radius;
+        this.pool = pool;
+        // Twice the notice radius leaves room for the way around a wall between a creature and the player.
+        this.field = new FlowField(2 * radius);
+    }
+
+    /**
+     * Plays the creatures' turn.
+     *
+     * @param zone    The zone whose creatures act.
+     * @param playerX The player's x-coordinate.
+     * @param playerY The player's y-coordinate.
+     */
+    public void takeTurn(GameZone zone, int playerX, int playerY) {
+        CreatureStore creatures = zone.getCreatureStore();
+        int count = gatherCandidates(creatures, playerX, playerY);
+        if (count == 0) return;
+        field.update(zone, playerX, playerY);
+
+        if (pool != null && count >= PARALLEL_THRESHOLD) {
+            pool.invoke(new Propose(creatures, playerX, playerY, 0, count));
+        } else {
+            propose(creatures, playerX, playerY, 0, count);
+        }
+
+        int movers = 0;
+        for (int k = 0; k < count; k++) {
+            if (proposals[k] != NO_MOVE) {
+                order[movers++] = ((long) creatures.handleAt(candidates[k]) << 32) | k;
+            }
+        }
+        Arrays.sort(order, 0, movers);
+        for (int m = 0; m < movers; m++) {
+            int k = (int) order[m];
+            int newX = (int) proposals[k];
+            int newY = (int) (proposals[k] >> 32);
+            if (creatures.indexAt(newX, newY) < 0) {
+                creatures.move(candidates[k], newX, newY);
+            }
+        }
+    }
+
+    /**
+     * Collects the creatures that might be close enough to act. Small radii probe the tiles around the player; large
+     * ones take every creature and let the proposals, which may run in parallel, filter them.
+     *
+     * @return The number of candidates.
+     */
+    private int gatherCandidates(CreatureStore creatures, int playerX, int playerY) {
+        long side = 2L * radius + 1;
+        int count;
+        if (side * side * PROBE_COST <= creatures.size()) {
+            count = creatures.findWithin(playerX, playerY, radius);
+            ensureCapacity(count);
+            for (int n = 0; n < count; n++) {
+                candidates[n] = creatures.foundAt(n);
+            }
+        } else {
+            count = creatures.size();
+            ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                candidates[i] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Works out the proposals for a range of candidates. Reads only the creature arrays, so ranges can run in
+     * parallel.
+     */
+    private void propose(CreatureStore creatures, int playerX, int playerY, int from, int to) {
+        for (int k = from; k < to; k++) {
+            int i = candidates[k];
+            int cx = creatures.getX(i);
+            int cy = creatures.getY(i);
+            if (Math.abs(playerX - cx) + Math.abs(playerY - cy) <= radius) {
+                proposals[k] = field.nextStep(cx, cy);
+            } else {
+                proposals[k] = NO_MOVE;
+            }
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (candidates.length < count) {
+            int capacity = Math.max(count, candidates.length * 2);
+            candidates = new int[capacity];
+            proposals = new long[capacity];
+            order = new long[capacity];
+        }
+    }
+
+    /**
+     * Works out the proposals for a range of candidates, splitting the range in half until it is small enough.
+     */
+    private final class Propose extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CreatureStore creatures;
+        private final int playerX;
+        private final int playerY;
+        private final int from;
+        private final int to;
+
+        Propose(CreatureStore creatures, int playerX, int playerY, int from, int to) {
+            this.creatures = creatures;
+            this.playerX = playerX;
+            this.playerY = playerY;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CREATURES_PER_TASK) {
+                propose(creatures, playerX, playerY, from, to);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Propose(creatures, playerX, playerY, from, mid),
+                        new Propose(creatures, playerX, playerY, mid, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package in.stl.staticdecay;
+
+/**
+ * The kinds of creature, with the name and base stats every creature of that kind starts with.
+ */
+public enum CreatureArchetype {
+    SHAMBLER("Shambler", 30, 10),
+    STALKER("Stalker", 50, 15),
+    WHISPERER("Whisperer", 20, 5),
+    ANOMALY("Anomaly", 200, 0),
+    /**
+     * A creature made directly from {@link Creature}, whose name and stats are its own.
+     */
+    CUSTOM("Creature", 1, 0);
+
+    private static final CreatureArchetype[] VALUES = values();
+
+    private final String displayName;
+    private final int hp;
+    private final int attack;
+
+    CreatureArchetype(String displayName, int hp, int attack) {
+        this.displayName = displayName;
+        this.hp = hp;
+        this.attack = attack;
+    }
+
+    /**
+     * Gets the name creatures of this kind are shown with.
+     *
+     * @return The name.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the hit points creatures of this kind start with.
+     *
+     * @return The starting hit points.
+     */
+    public int getHp() {
+        return hp;
+    }
+
+    /**
+     * Gets the attack power of creatures of this kind.
+     *
+     * @return The attack power.
+     */
+    public int getAttack() {
+        return attack;
+    }
+
+    /**
+     * Gets an archetype by its ordinal, as stored in a {@link CreatureStore}.
+     *
+     * @param id The ordinal.
+     * @return The archetype.
+     */
+    static CreatureArchetype byId(int id) {
+        return VALUES[id];
+    }
+
+    /**
+     * Gets the archetype by its name, ignoring case.
+     *
+     * @param name The name, such as "Shambler".
+     * @return The archetype.
+     * @throws IllegalArgumentException If there is no archetype with the name.
+     */
+    public static CreatureArchetype byName(String name) {
+        for (CreatureArchetype archetype : VALUES) {
+            if (archetype != CUSTOM && archetype.displayName.equalsIgnoreCase(name)) return archetype;
+        }
+        throw new IllegalArgumentException("Unknown creature: " + name);
+    }
+
+    /**
+     * Creates a creature object of this kind.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The creature.
+     */
+    Creature create(int x, int y) {
+        return switch (this) {
+            case SHAMBLER -> new Shambler(x, y);
+            case STALKER -> new Stalker(x, y);
+            case WHISPERER -> new Whisperer(x, y);
+            case ANOMALY -> new Anomaly(x, y);
+            case CUSTOM -> throw new IllegalStateException("Custom creatures have no default form");
+        };
+    }
+}
@@ -0,0 +1,423 @@
+package in.stl.staticdecay;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the creatures of a zone in parallel primitive arrays: position, hit points, attack and archetype. Creature
+ * turns, rendering and combat run over the arrays with plain indexed loops, so a zone can hold millions of creatures
+ * without an object, a name or a list entry for each one.
+ * <p>
+ * Every creature has a dense index, which changes when another creature is removed, and a handle, which stays the
+ * same for as long as the creature lives. Removing a creature moves the last creature into its slot. A
+ * {@link Creature} object is only created for a creature when something asks for one, such as a fight, and from then
+ * on it reads and writes the arrays.
+ */
+public final class CreatureStore {
+
+    private static final int NONE = TileIntMap.NONE;
+
+    private int size;
+    private int[] xs;
+    private int[] ys;
+    private int[] hps;
+    private int[] attacks;
+    private byte[] archetypes;
+    private int[] nextInTile;
+    private int[] handleAt;
+    private Creature[] views;
+    private int[] indexOf = new int[0];
+    private int[] freeHandles = new int[0];
+    private int freeHandleCount;
+    private int handleCount;
+    private final int[] archetypeCounts = new int[CreatureArchetype.values().length];
+    private final TileIntMap heads;
+    private int[] found = new int[16];
+
+    /**
+     * Constructs a new, empty CreatureStore.
+     */
+    public CreatureStore() {
+        this(16);
+    }
+
+    /**
+     * Constructs a new, empty CreatureStore sized for the expected number of creatures.
+     *
+     * @param expectedSize The number of creatures the store should hold without growing.
+     */
+    public CreatureStore(int expectedSize) {
+        int capacity = Math.max(4, expectedSize);
+        xs = new int[capacity];
+        ys = new int[capacity];
+        hps = new int[capacity];
+        attacks = new int[capacity];
+        archetypes = new byte[capacity];
+        nextInTile = new int[capacity];
+        handleAt = new int[capacity];
+        views = new Creature[capacity];
+        heads = new TileIntMap(capacity);
+    }
+
+    /**
+     * Adds a creature with its archetype's starting stats.
+     *
+     * @param archetype The kind of creature.
+     * @param x         The x-coordinate.
+     * @param y         The y-coordinate.
+     * @return The creature's handle.
+     */
+    public int add(CreatureArchetype archetype, int x, int y) {
+        return add(archetype, x, y, archetype.getHp(), archetype.getAttack());
+    }
+
+    /**
+     * Adds a creature object, which from then on reads and writes this store.
+     *
+     * @param creature The creature to add.
+     * @return The creature's handle.
+     */
+    int adopt(Creature creature) {
+        int handle = add(creature.getArchetype(), creature.getX(), creature.getY(), creature.getHp(),
+                creature.getAttack());
+        views[indexOf[handle]] = creature;
+        creature.attach(this, handle);
+        return handle;
+    }
+
+    private int add(CreatureArchetype archetype, int x, int y, int hp, int attack) {
+        if (size == xs.length) {
+            grow();
+        }
+        int index = size++;
+        int handle = newHandle();
+        xs[index] = x;
+        ys[index] = y;
+        hps[index] = hp;
+        attacks[index] = attack;
+        archetypes[index] = (byte) archetype.ordinal();
+        handleAt[index] = handle;
+        indexOf[handle] = index;
+        archetypeCounts[archetype.ordinal()]++;
+        link(index);
+        return handle;
+    }
+
+    /**
+     * Removes a creature. The last creature moves into its index, and any object for the removed creature keeps the
+     * state it had.
+     *
+     * @param index The index of the creature.
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        unlink(index, xs[index], ys[index]);
+        if (views[index] != null) {
+            views[index].detach(xs[index], ys[index], hps[index]);
+        }
+        archetypeCounts[archetypes[index]]--;
+        int handle = handleAt[index];
+        indexOf[handle] = NONE;
+        if (freeHandleCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, Math.max(8, freeHandleCount * 2));
+        }
+        freeHandles[freeHandleCount++] = handle;
+
+        int last = --size;
+        if (index != last) {
+            // Point whatever referred to the last slot at its new home before moving it.
+            int head = heads.get(xs[last], ys[last]);
+            if (head == last) {
+                heads.put(xs[last], ys[last], index);
+            } else {
+                int previous = head;
+                while (nextInTile[previous] != last) previous = nextInTile[previous];
+                nextInTile[previous] = index;
+            }
+            xs[index] = xs[last];
+            ys[index] = ys[last];
+            hps[index] = hps[last];
+            attacks[index] = attacks[last];
+            archetypes[index] = archetypes[last];
+            nextInTile[index] = nextInTile[last];
+            handleAt[index] = handleAt[last];
+            views[index] = views[last];
+            indexOf[handleAt[index]] = index;
+        }
+        views[last] = null;
+    }
+
+    /**
+     * Moves a creature, keeping the spatial index up to date.
+     *
+     * @param index The index of the creature.
+     * @param x     The new x-coordinate.
+     * @param y     The new y-coordinate.
+     */
+    public void move(int index, int x, int y) {
+        checkIndex(index);
+        unlink(index, xs[index], ys[index]);
+        xs[index] = x;
+        ys[index] = y;
+        link(index);
+    }
+
+    /**
+     * Reduces a creature's hit points.
+     *
+     * @param index  The index of the creature.
+     * @param damage The amount of damage.
+     */
+    public void damage(int index, int damage) {
+        checkIndex(index);
+        hps[index] -= damage;
+    }
+
+    /**
+     * Gets the number of creatures.
+     *
+     * @return The number of creatures.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of creatures of one kind.
+     *
+     * @param archetype The kind of creature.
+     * @return The number of creatures of that kind.
+     */
+    public int count(CreatureArchetype archetype) {
+        return archetypeCounts[archetype.ordinal()];
+    }
+
+    /**
+     * Gets the current index of a creature.
+     *
+     * @param handle The creature's handle.
+     * @return The index, or -1 if the creature has been removed.
+     */
+    public int indexOf(int handle) {
+        return handle >= 0 && handle < indexOf.length ? indexOf[handle] : NONE;
+    }
+
+    /**
+     * Gets the handle of the creature at an index.
+     *
+     * @param index The index of the creature.
+     * @return The handle.
+     */
+    public int handleAt(int index) {
+        checkIndex(index);
+        return handleAt[index];
+    }
+
+    /**
+     * Gets the x-coordinate of a creature.
+     *
+     * @param index The index of the creature.
+     * @return The x-coordinate.
+     */
+    public int getX(int index) {
+        checkIndex(index);
+        return xs[index];
+    }
+
+    /**
+     * Gets the y-coordinate of a creature.
+     *
+     * @param index The index of the creature.
+     * @return The y-coordinate.
+     */
+    public int getY(int index) {
+        checkIndex(index);
+        return ys[index];
+    }
+
+    /**
+     * Gets the hit points of a creature.
+     *
+     * @param index The index of the creature.
+     * @return The hit points.
+     */
+    public int getHp(int index) {
+        checkIndex(index);
+        return hps[index];
+    }
+
+    /**
+     * Gets the attack power of a creature.
+     *
+     * @param index The index of the creature.
+     * @return The attack power.
+     */
+    public int getAttack(int index) {
+        checkIndex(index);
+        return attacks[index];
+    }
+
+    /**
+     * Gets the kind of a creature.
+     *
+     * @param index The index of the creature.
+     * @return The archetype.
+     */
+    public CreatureArchetype getArchetype(int index) {
+        checkIndex(index);
+        return CreatureArchetype.byId(archetypes[index]);
+    }
+
+    /**
+     * Gets the creature standing on a tile.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The index of the creature that arrived last, or -1 if the tile is empty.
+     */
+    public int indexAt(int x, int y) {
+        return heads.get(x, y);
+    }
+
+    /**
+     * Gets the next creature standing on the same tile.
+     *
+     * @param index The index of a creature.
+     * @return The index of the next creature on its tile, or -1 if there is none.
+     */
+    public int nextInTile(int index) {
+        checkIndex(index);
+        return nextInTile[index];
+    }
+
+    /**
+     * Finds the creatures within a square radius of a tile. Small radii probe the tiles directly, so the cost does
+     * not grow with the number of creatures. Read the results with {@link #foundAt}; they stay valid until the next
+     * search or removal.
+     *
+     * @param x      The x-coordinate of the centre.
+     * @param y      The y-coordinate of the centre.
+     * @param radius The maximum distance along either axis.
+     * @return The number of creatures found, in row order.
+     */
+    public int findWithin(int x, int y, int radius) {
+        int count = 0;
+        long side = 2L * radius + 1;
+        if (side * side <= size) {
+            for (int ty = y - radius; ty <= y + radius; ty++) {
+                for (int tx = x - radius; tx <= x + radius; tx++) {
+                    for (int i = heads.get(tx, ty); i != NONE; i = nextInTile[i]) {
+                        count = addFound(count, i);
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (Math.abs(xs[i] - x) <= radius && Math.abs(ys[i] - y) <= radius) {
+                    count = addFound(count, i);
+                }
+            }
+            // Few creatures: an insertion sort into row order keeps ties in index order and allocates nothing.
+            for (int a = 1; a < count; a++) {
+                int index = found[a];
+                int b = a - 1;
+                while (b >= 0 && compareTiles(found[b], index) > 0) {
+                    found[b + 1] = found[b];
+                    b--;
+                }
+                found[b + 1] = index;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets one result of the last {@link #findWithin} search.
+     *
+     * @param n The position in the results.
+     * @return The index of the creature.
+     */
+    public int foundAt(int n) {
+        return found[n];
+    }
+
+    /**
+     * Gets the object for a creature, creating it on first use.
+     *
+     * @param index The index of the creature.
+     * @return The creature object, which reads and writes this store while the creature lives.
+     */
+    public Creature view(int index) {
+        checkIndex(index);
+        Creature view = views[index];
+        if (view == null) {
+            view = CreatureArchetype.byId(archetypes[index]).create(xs[index], ys[index]);
+            views[index] = view;
+            view.attach(this, handleAt[index]);
+        }
+        return view;
+    }
+
+    private int addFound(int count, int index) {
+        if (count == found.length) {
+            found = Arrays.copyOf(found, count * 2);
+        }
+        found[count] = index;
+        return count + 1;
+    }
+
+    private int compareTiles(int a, int b) {
+        return ys[a] != ys[b] ? Integer.compare(ys[a], ys[b]) : Integer.compare(xs[a], xs[b]);
+    }
+
+    private void link(int index) {
+        nextInTile[index] = heads.put(xs[index], ys[index], index);
+    }
+
+    private void unlink(int index, int x, int y) {
+        int head = heads.get(x, y);
+        if (head == index) {
+            if (nextInTile[index] == NONE) {
+                heads.remove(x, y);
+            } else {
+                heads.put(x, y, nextInTile[index]);
+            }
+        } else {
+            int previous = head;
+            while (previous != NONE && nextInTile[previous] != index) {
+                previous = nextInTile[previous];
+            }
+            if (previous != NONE) {
+                nextInTile[previous] = nextInTile[index];
+            }
+        }
+        nextInTile[index] = NONE;
+    }
+
+    private int newHandle() {
+        if (freeHandleCount > 0) {
+            return freeHandles[--freeHandleCount];
+        }
+        if (handleCount == indexOf.length) {
+            indexOf = Arrays.copyOf(indexOf, Math.max(16, handleCount * 2));
+        }
+        return handleCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Creature index " + index + " out of bounds for " + size);
+        }
+    }
+
+    private void grow() {
+        int capacity = xs.length * 2;
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        hps = Arrays.copyOf(hps, capacity);
+        attacks = Arrays.copyOf(attacks, capacity);
+        archetypes = Arrays.copyOf(archetypes, capacity);
+        nextInTile = Arrays.copyOf(nextInTile, capacity);
+        handleAt = Arrays.copyOf(handleAt, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+}
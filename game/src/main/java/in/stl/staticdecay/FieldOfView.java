@@ -0,0 +1,98 @@
+package in.stl.staticdecay;
+
+/**
+ * Computes what the player can see in a zone using recursive shadowcasting. Walls block sight, and everything within
+ * the view radius that is not behind a wall is put in view in the zone's {@link VisibilityMap}.
+ * <p>
+ * The result is kept between calls. Nothing is recomputed while the player stands still and the zone's layout has not
+ * changed, and a recompute only clears the square the previous view could have reached instead of the whole map.
+ */
+public final class FieldOfView {
+
+    // Octant transforms: x multipliers (xx, xy) and y multipliers (yx, yy) for each of the eight octants.
+    private static final int[] XX = {1, 0, 0, -1, -1, 0, 0, 1};
+    private static final int[] XY = {0, 1, -1, 0, 0, -1, 1, 0};
+    private static final int[] YX = {0, 1, 1, 0, 0, -1, -1, 0};
+    private static final int[] YY = {1, 0, 0, 1, -1, 0, 0, -1};
+
+    private final int radius;
+    private GameZone zone;
+    private int originX = Integer.MIN_VALUE;
+    private int originY = Integer.MIN_VALUE;
+    private int layoutVersion = -1;
+
+    /**
+     * Constructs a new FieldOfView object.
+     *
+     * @param radius How far the player can see.
+     */
+    public FieldOfView(int radius) {
+        this.radius = radius;
+    }
+
+    /**
+     * Updates the tiles in view for the player's position.
+     *
+     * @param zone    The zone the player is in.
+     * @param originX The player's x-coordinate.
+     * @param originY The player's y-coordinate.
+     */
+    public void update(GameZone zone, int originX, int originY) {
+        if (zone == this.zone && originX == this.originX && originY == this.originY
+                && zone.getLayoutVersion() == layoutVersion) {
+            return;
+        }
+        VisibilityMap visibility = zone.getVisibility();
+        if (zone == this.zone) {
+            visibility.clearVisible(this.originX - radius, this.originY - radius,
+                    this.originX + radius, this.originY + radius);
+        }
+        this.zone = zone;
+        this.originX = originX;
+        this.originY = originY;
+        this.layoutVersion = zone.getLayoutVersion();
+        visibility.markVisible(originX, originY);
+        for (int octant = 0; octant < 8; octant++) {
+            castLight(zone, visibility, 1, 1.0, 0.0, XX[octant], XY[octant], YX[octant], YY[octant]);
+        }
+    }
+
+    /**
+     * Scans one octant row by row, lighting tiles between the start and end slopes and recursing past walls.
+     */
+    private void castLight(GameZone zone, VisibilityMap visibility, int row, double start, double end,
+                           int xx, int xy, int yx, int yy) {
+        if (start < end) return;
+        int radiusSquared = radius * radius + radius;
+        double newStart = 0.0;
+        for (int distance = row; distance <= radius; distance++) {
+            int dy = -distance;
+            boolean blocked = false;
+            for (int dx = -distance; dx <= 0; dx++) {
+                double leftSlope = (dx - 0.5) / (dy + 0.5);
+                double rightSlope = (dx + 0.5) / (dy - 0.5);
+                if (start < rightSlope) continue;
+                if (end > leftSlope) break;
+                int x = originX + dx * xx + dy * xy;
+                int y = originY + dx * yx + dy * yy;
+                if (dx * dx + dy * dy <= radiusSquared) {
+                    visibility.markVisible(x, y);
+                }
+                boolean opaque = zone.getTile(x, y) == '#';
+                if (blocked) {
+                    if (opaque) {
+                        newStart = rightSlope;
+                    } else {
+                        blocked = false;
+                        start = newStart;
+                    }
+                } else if (opaque && distance < radius) {
+                    blocked = true;
+                    castLight(zone, visibility, distance + 1, start, leftSlope, xx, xy, yx, yy);
+                    newStart = rightSlope;
+                }
+            }
+            if (blocked) break;
+        }
+    }
+}
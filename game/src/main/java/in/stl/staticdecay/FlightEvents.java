@@ -0,0 +1,92 @@
+package in.stl.staticdecay;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JDK Flight Recorder events of the game, so a recording of a slow game shows the turns, fights, zone changes and
+ * crafting next to the garbage collections and allocations that happened during them. The events are only written
+ * while a recording with them enabled is running; otherwise creating and timing one costs next to nothing.
+ * <pre>
+ * java -XX:StartFlightRecording:filename=game.jfr -jar static-decay.jar
+ * </pre>
+ */
+final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    /**
+     * One turn of a game, from the command being applied to the creatures and stats being updated.
+     */
+    @Name("in.stl.staticdecay.Turn")
+    @Label("Turn")
+    @Category("Static Decay")
+    @Description("One command applied to a game")
+    @StackTrace(false)
+    static final class Turn extends Event {
+        @Label("Turn")
+        int turn;
+        @Label("Command")
+        String command;
+        @Label("Zone")
+        String zone;
+        @Label("Creatures")
+        @Description("The number of creatures in the zone after the turn")
+        int creatures;
+        @Label("Status")
+        String status;
+    }
+
+    /**
+     * A fight, from the player running into a creature until one of them dies or the player escapes.
+     */
+    @Name("in.stl.staticdecay.Combat")
+    @Label("Combat")
+    @Category("Static Decay")
+    @Description("A fight between the player and a creature")
+    @StackTrace(false)
+    static final class Combat extends Event {
+        @Label("Creature")
+        String creature;
+        @Label("Zone")
+        String zone;
+        @Label("Rounds")
+        int rounds;
+        @Label("Outcome")
+        @Description("WON, ESCAPED, LOST or QUIT")
+        String outcome;
+    }
+
+    /**
+     * The player going through a door into another zone, timed from leaving the old zone to standing in the new one.
+     */
+    @Name("in.stl.staticdecay.ZoneChange")
+    @Label("Zone Change")
+    @Category("Static Decay")
+    @StackTrace(false)
+    static final class ZoneChange extends Event {
+        @Label("From")
+        String from;
+        @Label("To")
+        String to;
+    }
+
+    /**
+     * The player crafting a recipe one or more times.
+     */
+    @Name("in.stl.staticdecay.Craft")
+    @Label("Craft")
+    @Category("Static Decay")
+    @StackTrace(false)
+    static final class Craft extends Event {
+        @Label("Item")
+        String item;
+        @Label("Count")
+        int count;
+    }
+}
@@ -0,0 +1,141 @@
+package in.stl.staticdecay;
+
+import java.util.Arrays;
+
+/**
+ * A map of walking distances to the player, shared by every creature in a zone. A creature chasing the player only
+ * has to step to a neighbouring tile that is one step closer, which takes it around walls without a search of its own.
+ * <p>
+ * The distances are found with a breadth-first search over the eight neighbours of each tile, kept to the square of
+ * the field's radius around the player, so building the field costs the same however many creatures use it. Like
+ * {@link FieldOfView}, the field is kept between calls and only rebuilt when the player moves, the zone changes or the
+ * zone's layout changes.
+ * <p>
+ * A rebuild is always a full search of the square, not an update of the old distances. When the player steps, the
+ * square moves with them, so tiles that were only reachable through the edge that dropped out can become farther or
+ * unreachable, and a removed wall can shorten paths anywhere in the square. Patching the old field correctly means
+ * tracking both, while the full search is bounded by the radius and costs a few microseconds. The field is rebuilt at
+ * most once per turn, however many creatures read it.
+ */
+public final class FlowField {
+
+    /**
+     * The distance of a tile that cannot be reached within the field.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * The step returned for a tile with no step closer to the player.
+     */
+    public static final long NO_STEP = Long.MIN_VALUE;
+
+    // Neighbour offsets, orthogonal ones first.
+    private static final int[] DX = {0, 1, 0, -1, 1, 1, -1, -1};
+    private static final int[] DY = {-1, 0, 1, 0, -1, 1, 1, -1};
+
+    private final int radius;
+    private final int side;
+    private final int[] distances;
+    private final int[] queue;
+    private GameZone zone;
+    private int originX = Integer.MIN_VALUE;
+    private int originY = Integer.MIN_VALUE;
+    private int layoutVersion = -1;
+
+    /**
+     * Constructs a new FlowField object.
+     *
+     * @param radius How far from the player, in tiles along either axis, distances are worked out.
+     */
+    public FlowField(int radius) {
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        this.distances = new int[side * side];
+        this.queue = new int[side * side];
+    }
+
+    /**
+     * Rebuilds the field for the player's position if anything it depends on has changed.
+     *
+     * @param zone    The zone the player is in.
+     * @param originX The player's x-coordinate.
+     * @param originY The player's y-coordinate.
+     * @return True if the field was rebuilt, false if it was already up to date.
+     */
+    public boolean update(GameZone zone, int originX, int originY) {
+        if (zone == this.zone && originX == this.originX && originY == this.originY
+                && zone.getLayoutVersion() == layoutVersion) {
+            return false;
+        }
+        this.zone = zone;
+        this.originX = originX;
+        this.originY = originY;
+        this.layoutVersion = zone.getLayoutVersion();
+
+        Arrays.fill(distances, UNREACHABLE);
+        int origin = radius * side + radius;
+        distances[origin] = 0;
+        queue[0] = origin;
+        int head = 0;
+        int tail = 1;
+        int left = originX - radius;
+        int top = originY - radius;
+        while (head < tail) {
+            int cell = queue[head++];
+            int cellX = cell % side;
+            int cellY = cell / side;
+            int next = distances[cell] + 1;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = cellX + DX[d];
+                int ny = cellY + DY[d];
+                if (nx < 0 || ny < 0 || nx >= side || ny >= side) continue;
+                int neighbour = ny * side + nx;
+                if (distances[neighbour] != UNREACHABLE || zone.getTile(left + nx, top + ny) == '#') continue;
+                distances[neighbour] = next;
+                queue[tail++] = neighbour;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the walking distance from a tile to the player.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The number of steps, or {@link #UNREACHABLE} if the tile is a wall, lies outside the field or cannot be
+     * reached without leaving it.
+     */
+    public int getDistance(int x, int y) {
+        int cellX = x - originX + radius;
+        int cellY = y - originY + radius;
+        if (cellX < 0 || cellY < 0 || cellX >= side || cellY >= side) return UNREACHABLE;
+        return distances[cellY * side + cellX];
+    }
+
+    /**
+     * Finds the tile one step closer to the player. Where several are, the step straight toward the player is
+     * preferred, so in open ground creatures walk the same line they always have. Only reads the field, so it can be
+     * called from several threads at once.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The tile as a {@link TileMap} key, or {@link #NO_STEP} if the tile is already the player's or cannot
+     * reach the player.
+     */
+    public long nextStep(int x, int y) {
+        int distance = getDistance(x, y);
+        if (distance <= 0) return NO_STEP;
+        int straightX = x + Integer.compare(originX, x);
+        int straightY = y + Integer.compare(originY, y);
+        if (getDistance(straightX, straightY) == distance - 1) {
+            return TileMap.key(straightX, straightY);
+        }
+        for (int d = 0; d < DX.length; d++) {
+            if (getDistance(x + DX[d], y + DY[d]) == distance - 1) {
+                return TileMap.key(x + DX[d], y + DY[d]);
+            }
+        }
+        return NO_STEP;
+    }
+}
@@ -0,0 +1,108 @@
+package in.stl.staticdecay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws the map of the current zone into a reusable frame buffer. Each character is passed through the render stages
+ * once, in place, so drawing a frame does not allocate. The buffer is only reallocated when the zone changes.
+ * <p>
+ * A zone larger than the viewport is drawn only in a window around the player, so the cost of a frame does not grow
+ * with the zone, and a zone kept in a {@link ChunkedTileStore} only has the chunks near the player read.
+ */
+public class FrameCompositor {
+
+    /**
+     * The most columns of the map drawn in one frame.
+     */
+    public static final int VIEW_WIDTH = 79;
+
+    /**
+     * The most rows of the map drawn in one frame.
+     */
+    public static final int VIEW_HEIGHT = 21;
+
+    private final List<RenderStage> stages = new ArrayList<>();
+    private RenderStage[] active = new RenderStage[0];
+    private char[] frame = new char[0];
+    private char[] header = new char[0];
+    private GameZone frameZone;
+    private int viewWidth;
+    private int viewHeight;
+
+    /**
+     * Creates a compositor with the standard stages: terrain and fog, creatures, the player, and the low sanity
+     * scramble effect.
+     *
+     * @return The compositor.
+     */
+    public static FrameCompositor withDefaultStages() {
+        return new FrameCompositor()
+                .addStage(new RenderStages.Terrain())
+                .addStage(new RenderStages.Creatures())
+                .addStage(new RenderStages.PlayerMarker())
+                .addStage(new RenderStages.Scramble(30));
+    }
+
+    /**
+     * Adds a stage to the end of the pipeline.
+     *
+     * @param stage The stage to add.
+     * @return This compositor.
+     */
+    public FrameCompositor addStage(RenderStage stage) {
+        stages.add(stage);
+        active = new RenderStage[stages.size()];
+        return this;
+    }
+
+    /**
+     * Draws the current zone. The zone header comes first, followed by one line per row of the map, or of the part of
+     * the map around the player if the zone is larger than the viewport.
+     *
+     * @param engine The game to draw.
+     * @return The frame. The array is reused by the next call and must not be kept.
+     */
+    public char[] compose(GameEngine engine) {
+        GameZone zone = engine.getCurrentZone();
+        if (zone != frameZone) {
+            allocate(zone);
+        }
+        int count = 0;
+        for (RenderStage stage : stages) {
+            if (stage.begin(engine)) {
+                active[count++] = stage;
+            }
+        }
+        int p = 0;
+        for (char h : header) {
+            char c = h;
+            for (int s = 0; s < count; s++) {
+                c = active[s].shade(-1, -1, c);
+            }
+            frame[p++] = c;
+        }
+        // Centre the window on the player, but keep it inside the zone.
+        int left = Math.max(0, Math.min(engine.getPlayer().getX() - viewWidth / 2, zone.getWidth() - viewWidth));
+        int top = Math.max(0, Math.min(engine.getPlayer().getY() - viewHeight / 2, zone.getHeight() - viewHeight));
+        for (int y = top; y < top + viewHeight; y++) {
+            for (int x = left; x < left + viewWidth; x++) {
+                char c = ' ';
+                for (int s = 0; s < count; s++) {
+                    c = active[s].shade(x, y, c);
+                }
+                frame[p++] = c;
+            }
+            frame[p++] = '\n';
+        }
+        return frame;
+    }
+
+    private void allocate(GameZone zone) {
+        header = ("Zone: " + zone.getName() + " (" + zone.getWidth() + "x" + zone.getHeight() + ")\n").toCharArray();
+        viewWidth = Math.min(zone.getWidth(), VIEW_WIDTH);
+        viewHeight = Math.min(zone.getHeight(), VIEW_HEIGHT);
+        frame = new char[header.length + (viewWidth + 1) * viewHeight];
+        frameZone = zone;
+    }
+}
@@ -0,0 +1,229 @@
+package in.stl.staticdecay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The fixed content of the game: its items, crafting recipes and zones. Content is immutable once built, so one
+ * instance is shared by every game running in the process instead of being rebuilt for each one. The zones are read
+ * from the zone files on the class path, listed in order in {@code /zones/index.txt}, and the recipes from
+ * {@code /recipes.txt}.
+ */
+public final class GameContent {
+
+    private static final String ZONE_DIRECTORY = "/zones/";
+    private static final String ZONE_INDEX = ZONE_DIRECTORY + "index.txt";
+    private static final String RECIPES = "/recipes.txt";
+
+    private final Map<String, Item> items = new LinkedHashMap<>();
+    private final ItemRegistry itemRegistry = new ItemRegistry();
+    private final List<CraftingRecipe> recipes = new ArrayList<>();
+    private final Map<String, ZoneTemplate> zones = new LinkedHashMap<>();
+    private RecipeBook recipeBook;
+    private final Map<String, Item> itemsView = Collections.unmodifiableMap(items);
+    private final List<CraftingRecipe> recipesView = Collections.unmodifiableList(recipes);
+
+    /**
+     * Holds the standard content, built the first time it is needed.
+     */
+    private static final class Standard {
+        static final GameContent INSTANCE = new GameContent();
+    }
+
+    /**
+     * Constructs a new GameContent object holding the standard items, recipes and zones.
+     */
+    private GameContent() {
+        initializeItems();
+        initializeRecipes();
+        initializeZones();
+    }
+
+    /**
+     * Gets the standard content of the game.
+     *
+     * @return The shared standard content.
+     */
+    public static GameContent standard() {
+        return Standard.INSTANCE;
+    }
+
+    /**
+     * Initializes all the items available in the game.
+     */
+    private void initializeItems() {
+        //WEAPONS
+        items.put("Makeshift Shiv", new Weapon("Makeshift Shiv", "A crude, sharp piece of metal.", 15));
+        items.put("9mm Pistol", new Weapon("9mm Pistol", "A standard handgun. Reliable", 35));
+
+        //CONSUMABLES
+        items.put("Bandage", new Consumable("Bandage", "Stops bleeding and restores a little health", p -> {
+            p.heal(20);
+            return "You apply the bandage. It stings, but you feel better (+20 HP)";
+        }));
+        items.put("Med-kit", new Consumable("Med-kit", "A proper medical kit. Restores significant health.", p -> {
+            p.heal(75);
+            return "You use the med-kit. The relief is immediate. (+75 HP)";
+        }));
+        items.put("Canned Food", new Consumable("Canned Food", "Suspicious but edible.", p -> {
+            p.eat(40);
+            return "It doesn't taste like royalty, but it's food. (+40 HG)";
+        }));
+        items.put("Thrown Bottle", new Consumable("Thrown Bottle", "Creates a noise to distract enemies", p -> "You get ready to throw the bottle."));
+
+        //RESOURCES
+        items.put("Scrap Metal", new Resource("Scrap Metal", "Could be useful for crafting."));
+        items.put("Dirty Rags", new Resource("Dirty Rags", "Filthy, but might have a use."));
+        items.put("Chemicals", new Resource("Chemicals", "A volatile mix of unknown substances."));
+        items.put("Herbs", new Resource("Herbs", "Some strange-looking plants"));
+        items.put("Wood", new Resource("Wood", "A splintered piece of wood."));
+        items.put("Ammo", new Resource("Ammo", "Rounds for a firearm."));
+        items.put("Batteries", new Resource("Batteries", "Power for your flashlight."));
+
+        //QUEST ITEMS
+        items.put("Crowbar", new QuestItem("Crowbar", "Useful for prying things open."));
+        items.put("Security Keycard", new QuestItem("Security Keycard", "Opens electronically locked doors."));
+
+        for (Item item : items.values()) {
+            itemRegistry.register(item);
+        }
+    }
+
+    /**
+     * Loads all the crafting recipes from the recipe file and compiles them to item ids.
+     */
+    private void initializeRecipes() {
+        for (String line : contentLines(RECIPES)) {
+            recipes.add(CraftingRecipe.parse(line, items));
+        }
+        recipeBook = new RecipeBook(recipesView, itemRegistry);
+    }
+
+    /**
+     * Loads all the zones of the game from the zone files listed in the zone index, in the order the player reaches
+     * them, and checks that every door, key and note item they name exists.
+     */
+    private void initializeZones() {
+        for (String file : contentLines(ZONE_INDEX)) {
+            String path = ZONE_DIRECTORY + file;
+            addZone(ZoneTemplate.read(path, new BufferedReader(new StringReader(readResource(path)))));
+        }
+        if (zones.isEmpty()) {
+            throw new IllegalStateException(ZONE_INDEX + " lists no zones");
+        }
+        for (ZoneTemplate zone : zones.values()) {
+            ZoneTemplate.Door door = zone.getDoor();
+            if (door != null) {
+                getZone(door.getTarget());
+                requireItem(zone, door.getKey());
+            }
+            requireItem(zone, zone.getLoreItem());
+        }
+    }
+
+    private void requireItem(ZoneTemplate zone, String name) {
+        if (name != null && !items.containsKey(name)) {
+            throw new IllegalStateException("Zone " + zone.getName() + " names an unknown item: " + name);
+        }
+    }
+
+    /**
+     * Reads the lines of a content file, leaving out blank lines and comments starting with ';'.
+     */
+    private static List<String> contentLines(String path) {
+        return readResource(path).lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith(";"))
+                .toList();
+    }
+
+    private static String readResource(String path) {
+        try (InputStream in = GameContent.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read resource " + path, e);
+        }
+    }
+
+    private void addZone(ZoneTemplate zone) {
+        zones.put(zone.getName(), zone);
+    }
+
+    /**
+     * Gets an item by name.
+     *
+     * @param name The name of the item.
+     * @return The item, or null if there is no item with that name.
+     */
+    public Item getItem(String name) {
+        return items.get(name);
+    }
+
+    /**
+     * Gets every item, keyed by name.
+     *
+     * @return A read-only map from item name to item.
+     */
+    public Map<String, Item> getItems() {
+        return itemsView;
+    }
+
+    /**
+     * Gets the registry that gives every item its id.
+     *
+     * @return The item registry.
+     */
+    public ItemRegistry getItemRegistry() {
+        return itemRegistry;
+    }
+
+    /**
+     * Gets the crafting recipes compiled to item ids.
+     *
+     * @return The recipe book.
+     */
+    public RecipeBook getRecipeBook() {
+        return recipeBook;
+    }
+
+    /**
+     * Gets the crafting recipes.
+     *
+     * @return A read-only list of the recipes.
+     */
+    public List<CraftingRecipe> getRecipes() {
+        return recipesView;
+    }
+
+    /**
+     * Gets a zone by name.
+     *
+     * @param name The name of the zone.
+     * @return The zone's template.
+     * @throws IllegalArgumentException If there is no zone with that name.
+     */
+    public ZoneTemplate getZone(String name) {
+        ZoneTemplate zone = zones.get(name);
+        if (zone == null) {
+            throw new IllegalArgumentException("Unknown zone: " + name);
+        }
+        return zone;
+    }
+
+    /**
+     * Gets the zone every game starts in.
+     *
+     * @return The first zone's template.
+     */
+    public ZoneTemplate getStartZone() {
+        return zones.values().iterator().next();
+    }
+}
@@ -0,0 +1,769 @@
+package in.stl.staticdecay;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ * The headless engine for the Static Decay game. This class holds the game state and applies commands one turn at a
+ * time without touching the console, so it can be driven by the terminal, scripts or batch simulations.
+ */
+public class GameEngine {
+
+    private static final int VIEW_RADIUS = 4;
+    private static final int NOTICE_RADIUS = 4;
+    // How far around the player the tiles of a chunked zone are kept in memory, comfortably beyond what they can see.
+    private static final int PRELOAD_RADIUS = 16;
+    private static final int MESSAGE_LOG_CAPACITY = 64;
+    private static final int EVENT_QUEUE_CAPACITY = 64;
+
+    /**
+     * The most rounds {@link #resolveCombat} plays before giving control back.
+     */
+    public static final int MAX_AUTO_ROUNDS = 1000;
+
+    // How close to a door the player gets before the zone behind it is built in the background.
+    private static final int PREFETCH_DISTANCE = 5;
+
+    private final Player player;
+    private GameZone currentZone;
+    private final GameContent content;
+    private final Map<String, Item> items;
+    private final RecipeBook recipeBook;
+    private final MessageLog messageLog = new MessageLog(MESSAGE_LOG_CAPACITY);
+    private final GameEventBus events = new GameEventBus(EVENT_QUEUE_CAPACITY);
+    private final long seed;
+    private final Random random;
+    private final CombatResolver combat;
+    private CommandJournal journal;
+    private String causeOfDeath;
+    private final FieldOfView fieldOfView = new FieldOfView(VIEW_RADIUS);
+    private CreatureAI creatureAI = new CreatureAI(NOTICE_RADIUS);
+    private TurnMetrics metrics;
+    private ZonePrefetcher prefetcher;
+    private GameStatus status = GameStatus.EXPLORING;
+    private Creature combatTarget;
+    private int combatRounds;
+    private FlightEvents.Combat combatEvent;
+    private int turn;
+
+    /**
+     * Constructs a new GameEngine object with a random seed, placing the player in the starting zone.
+     */
+    public GameEngine() {
+        this(new Random().nextLong());
+    }
+
+    /**
+     * Constructs a new GameEngine object with the standard content, placing the player in the starting zone. Two
+     * engines with the same seed given the same commands play out exactly the same game.
+     *
+     * @param seed The seed for every random roll in the game.
+     */
+    public GameEngine(long seed) {
+        this(GameContent.standard(), seed);
+    }
+
+    /**
+     * Constructs a new GameEngine object, placing the player in the starting zone.
+     *
+     * @param content The items, recipes and zones of the game, which may be shared with other games.
+     * @param seed    The seed for every random roll in the game.
+     */
+    public GameEngine(GameContent content, long seed) {
+        this.content = content;
+        this.items = content.getItems();
+        this.recipeBook = content.getRecipeBook();
+        this.player = new Player(1, 1, content);
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.combat = new CombatResolver(random);
+        events.subscribe(messageLog);
+        enterZone(content.getStartZone().instantiate());
+        log("You awaken in a cold, damp subway tunnel. The silence is deafening.");
+        events.flush();
+    }
+
+    /**
+     * Moves the player to the start of a new zone and releases the zone they left.
+     *
+     * @param zone The zone to enter.
+     */
+    public void enterZone(GameZone zone) {
+        FlightEvents.ZoneChange zoneChange = new FlightEvents.ZoneChange();
+        zoneChange.begin();
+        GameZone previous = currentZone;
+        currentZone = zone;
+        player.setX(zone.getStartX());
+        player.setY(zone.getStartY());
+        zone.preload(player.getX(), player.getY(), PRELOAD_RADIUS);
+        revealInitialArea();
+        publish(GameEvent.Type.ZONE_CHANGED, null, zone.getName(), 0);
+        prefetchNearbyZone();
+        if (previous != null) {
+            previous.close();
+            zoneChange.end();
+            if (zoneChange.shouldCommit()) {
+                zoneChange.from = previous.getName();
+                zoneChange.to = zone.getName();
+                zoneChange.commit();
+            }
+        }
+    }
+
+    /**
+     * Reveals the area the player can see from where they stand.
+     */
+    private void revealInitialArea() {
+        fieldOfView.update(currentZone, player.getX(), player.getY());
+    }
+
+    /**
+     * Applies a command and steps the game forward. Outside of combat every command uses up a turn, after which the
+     * creatures act and the player's stats are updated. In combat every command is one round of the fight. The
+     * events of the step reach the listeners before this returns.
+     *
+     * @param command The command to apply.
+     * @return The status of the game after the command.
+     */
+    public GameStatus step(Command command) {
+        if (status.isOver()) {
+            return status;
+        }
+        if (journal != null) {
+            journal.append(command);
+        }
+        FlightEvents.Turn turnEvent = new FlightEvents.Turn();
+        turnEvent.begin();
+        TurnMetrics metrics = this.metrics;
+        long phaseStart = metrics == null ? 0 : System.nanoTime();
+        if (status == GameStatus.IN_COMBAT) {
+            handleCombatRound(command);
+        } else {
+            handlePlayerTurn(command);
+        }
+        if (metrics != null) {
+            phaseStart = metrics.record(TurnMetrics.Phase.PLAYER_ACTION, phaseStart);
+        }
+        if (status == GameStatus.EXPLORING) {
+            handleCreatureTurn();
+            if (metrics != null) {
+                phaseStart = metrics.record(TurnMetrics.Phase.CREATURE_TURN, phaseStart);
+            }
+            updatePlayerStats();
+            if (metrics != null) {
+                metrics.record(TurnMetrics.Phase.PLAYER_STATS, phaseStart);
+            }
+            turn++;
+        }
+        events.flush();
+        turnEvent.end();
+        if (turnEvent.shouldCommit()) {
+            turnEvent.turn = turn;
+            turnEvent.command = command.getType().name();
+            turnEvent.zone = currentZone.getName();
+            turnEvent.creatures = currentZone.getCreatureStore().size();
+            turnEvent.status = status.name();
+            turnEvent.commit();
+        }
+        return status;
+    }
+
+    /**
+     * Handles the player's turn.
+     *
+     * @param command The command to apply.
+     */
+    private void handlePlayerTurn(Command command) {
+        switch (command.getType()) {
+            case MOVE -> movePlayer(command.getDirection());
+            case LOOK -> look();
+            case CRAFT -> craft(command.getIndex(), command.getCount());
+            case USE_ITEM -> useItem(command.getArgument());
+            case QUIT -> quit();
+            case INVALID -> log(command.getArgument());
+            case WAIT -> {
+            }
+            default -> log("Unknown command.");
+        }
+    }
+
+    /**
+     * Ends the game because the player gave up.
+     */
+    private void quit() {
+        log("You give up hope.");
+        status = GameStatus.QUIT;
+        finishCombatEvent("QUIT");
+    }
+
+    /**
+     * Moves the player in the specified direction.
+     *
+     * @param dir The direction to move.
+     */
+    void movePlayer(char dir) {
+        int newX = player.getX();
+        int newY = player.getY();
+        switch (dir) {
+            case 'W' -> newY--;
+            case 'A' -> newX--;
+            case 'S' -> newY++;
+            case 'D' -> newX++;
+        }
+        char targetTile = currentZone.getTile(newX, newY);
+        Creature creature = currentZone.getCreatureAt(newX, newY);
+        if (creature != null) {
+            startCombat(creature);
+            return;
+        }
+        if (targetTile != '#') {
+            player.setX(newX);
+            player.setY(newY);
+            publish(GameEvent.Type.MOVED, null, null, 0);
+            if (player.loseHunger(1)) {
+                log("You are starving! You lose 5 HP.");
+            }
+            currentZone.preload(player.getX(), player.getY(), PRELOAD_RADIUS);
+            fieldOfView.update(currentZone, player.getX(), player.getY());
+            prefetchNearbyZone();
+            Interactable interactable = currentZone.getInteractableAt(player.getX(), player.getY());
+            if (interactable != null) {
+                log(interactable.getSightedMessage());
+            }
+        } else {
+            log("You can't go that way.");
+        }
+    }
+
+    /**
+     * Allows the player to look at their surroundings.
+     */
+    private void look() {
+        Interactable interactable = currentZone.getInteractableAt(player.getX(), player.getY());
+        if (interactable != null) {
+            handleInteraction(interactable);
+        } else {
+            log("There is nothing of interest here.");
+        }
+    }
+
+    /**
+     * Handles the player's interaction with an object.
+     *
+     * @param interactable The object the player is interacting with.
+     */
+    private void handleInteraction(Interactable interactable) {
+        String description = interactable.getDescription();
+        log(description);
+        switch (interactable.getType()) {
+            case CONTAINER -> {
+                publish(GameEvent.Type.SEARCHED, null, description, 0);
+                switch (random.nextInt(5)) {
+                    case 0 -> {
+                        loot("Canned Food", "You found a can of food!");
+                    }
+                    case 1 -> {
+                        loot("Dirty Rags", "You found Dirty Rags!");
+                    }
+                    case 2 -> {
+                        loot("Scrap Metal", "You found Scrap Metal!");
+                    }
+                    case 3 -> {
+                        loot("Chemicals", "You found Chemicals!");
+                    }
+                    default -> log("...it's empty.");
+                }
+                currentZone.removeInteractable(player.getX(), player.getY());
+            }
+            case NOTE -> {
+                ZoneTemplate template = currentZone.getTemplate();
+                if (template != null) {
+                    for (String line : template.getLore()) {
+                        log(line);
+                    }
+                    if (template.getLoreItem() != null) {
+                        player.addItem(items.get(template.getLoreItem()), 1);
+                    }
+                }
+                currentZone.removeInteractable(player.getX(), player.getY());
+            }
+            case DOOR -> {
+                ZoneTemplate template = currentZone.getTemplate();
+                ZoneTemplate.Door door = template == null ? null : template.getDoor();
+                if (door != null) {
+                    if (door.getKey() == null || player.hasItem(door.getKey())) {
+                        log(door.getOpenedMessage());
+                        ZoneTemplate target = content.getZone(door.getTarget());
+                        enterZone(prefetcher == null ? target.instantiate()
+                                : prefetcher.take(target, target::instantiate));
+                    } else {
+                        log(door.getLockedMessage());
+                    }
+                } else if (currentZone.hasNextZone()) {
+                    log("The heavy door grinds open, and you descend deeper into the ruins.");
+                    enterZone(prefetcher == null ? currentZone.createNextZone()
+                            : prefetcher.take(currentZone, currentZone::createNextZone));
+                }
+            }
+            case EQUIPMENT -> {
+                boolean anomalyPresent = currentZone.getCreatureStore().count(CreatureArchetype.ANOMALY) > 0;
+                if (anomalyPresent) {
+                    log("The broadcast equipment is shielded by a strange psychic energy. You can't get close");
+                } else {
+                    log("With the Anomaly gone, you approach the console. You find enough working parts to send a simple repeating message: '...is anyone out there? We are alive. We are at...' You give the coordinates. You've done it. You've sent a message of hope into the static.");
+                    status = GameStatus.WON;
+                }
+            }
+        }
+    }
+
+    /**
+     * Uses or equips an item from the player's inventory.
+     *
+     * @param itemName The name of the item, or null if the player closed the inventory.
+     */
+    private void useItem(String itemName) {
+        if (player.isInventoryEmpty()) {
+            log("Your inventory is empty.");
+            return;
+        }
+        if (itemName == null || itemName.isEmpty() || itemName.equalsIgnoreCase("B")) return;
+        Item itemToUse = player.findItem(itemName);
+        if (itemToUse != null) {
+            if (itemToUse instanceof Consumable) {
+                if (player.removeItem(itemToUse, 1)) {
+                    publish(GameEvent.Type.USED, ((Consumable) itemToUse).applyEffect(player), itemToUse.getName(), 1);
+                }
+            } else if (itemToUse instanceof Weapon) {
+                player.setEquippedWeapon((Weapon) itemToUse);
+                publish(GameEvent.Type.EQUIPPED, null, itemToUse.getName(), 0);
+            } else {
+                log("You can't use that right now.");
+            }
+        } else {
+            log("You don't have that item.");
+        }
+    }
+
+    /**
+     * Checks if the player has the ingredients for a recipe.
+     *
+     * @param recipe The recipe to check.
+     * @return True if the recipe can be crafted, false otherwise.
+     */
+    boolean canCraft(CraftingRecipe recipe) {
+        int id = recipeBook.idOf(recipe);
+        return id >= 0 && player.getCraftableRecipes().contains(id);
+    }
+
+    /**
+     * Crafts a recipe one or more times if the player has the ingredients for all of them.
+     *
+     * @param recipeIndex The id of the recipe to craft in the content's {@link RecipeBook}.
+     * @param count       How many times to craft it, or {@link Command#CRAFT_MAX} for as many times as possible.
+     */
+    private void craft(int recipeIndex, int count) {
+        if (recipeIndex >= 0 && recipeIndex < recipeBook.size()) {
+            CraftingRecipe recipe = recipeBook.get(recipeIndex);
+            int affordable = player.getMaxCrafts(recipeIndex);
+            // A recipe without ingredients is never short of them, so crafting it as often as possible makes one.
+            int times = count != Command.CRAFT_MAX ? count : affordable == Integer.MAX_VALUE ? 1 : affordable;
+            if (count <= 0) {
+                log("You craft nothing.");
+            } else if (affordable == 0) {
+                log("You don't have the required ingredients.");
+            } else if (times > affordable) {
+                publish(GameEvent.Type.CRAFT_SHORT, null, null, affordable);
+            } else {
+                FlightEvents.Craft craftEvent = new FlightEvents.Craft();
+                craftEvent.begin();
+                if (player.craft(recipeIndex, times)) {
+                    craftEvent.end();
+                    if (craftEvent.shouldCommit()) {
+                        craftEvent.item = recipe.getResult().getName();
+                        craftEvent.count = times;
+                        craftEvent.commit();
+                    }
+                    publish(GameEvent.Type.CRAFTED, null, recipe.getResult().getName(), times);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts combat with a creature.
+     *
+     * @param creature The creature to fight.
+     */
+    private void startCombat(Creature creature) {
+        publish(GameEvent.Type.ENCOUNTERED, null, creature.getName(), 0);
+        combatTarget = creature;
+        status = GameStatus.IN_COMBAT;
+        combatRounds = 0;
+        combatEvent = new FlightEvents.Combat();
+        combatEvent.begin();
+    }
+
+    /**
+     * Handles one round of combat.
+     *
+     * @param command The command to apply.
+     */
+    private void handleCombatRound(Command command) {
+        if (command.getType() == Command.Type.QUIT) {
+            quit();
+            return;
+        }
+        Creature creature = combatTarget;
+        combatRounds++;
+        switch (combat.round(player, creature, command, events, turn)) {
+            case WON -> {
+                currentZone.removeCreature(creature);
+                endCombat("WON");
+            }
+            case ESCAPED -> endCombat("ESCAPED");
+            case LOST -> die(creature.getName());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Fights the current fight to its end without asking the player, one round per step, so the rounds are journaled
+     * like any others. Used by batch runs and auto-resolve.
+     *
+     * @param policy What the player does each round.
+     * @return The status of the game once the fight is over, or after {@link #MAX_AUTO_ROUNDS} rounds.
+     */
+    public GameStatus resolveCombat(CombatPolicy policy) {
+        for (int round = 0; round < MAX_AUTO_ROUNDS && status == GameStatus.IN_COMBAT; round++) {
+            step(policy.decide(player, combatTarget, combatRounds));
+        }
+        return status;
+    }
+
+    /**
+     * Ends the current fight and returns the player to exploring.
+     *
+     * @param outcome How the fight ended, for the flight recorder.
+     */
+    private void endCombat(String outcome) {
+        finishCombatEvent(outcome);
+        combatTarget = null;
+        status = GameStatus.EXPLORING;
+    }
+
+    /**
+     * Handles the creatures' turn.
+     */
+    void handleCreatureTurn() {
+        creatureAI.takeTurn(currentZone, player.getX(), player.getY());
+    }
+
+    /**
+     * Updates the player's stats.
+     */
+    private void updatePlayerStats() {
+        if (player.getHp() <= 0) {
+            die("Starvation");
+        }
+        ZoneTemplate template = currentZone.getTemplate();
+        int sanityDrain = template == null ? 0 : template.getSanityDrain();
+        if (sanityDrain > 0 && player.getSanity() > 0) {
+            log("The oppressive atmosphere wears on your mind");
+            player.loseSanity(sanityDrain);
+        }
+    }
+
+    /**
+     * Ends the game with the player's death.
+     *
+     * @param cause The name of the creature that landed the killing blow, or "Starvation".
+     */
+    private void die(String cause) {
+        causeOfDeath = cause;
+        status = GameStatus.LOST;
+        publish(GameEvent.Type.DIED, null, cause, 0);
+        finishCombatEvent("LOST");
+    }
+
+    /**
+     * Records the current fight with the flight recorder, if there is one.
+     *
+     * @param outcome How the fight ended.
+     */
+    private void finishCombatEvent(String outcome) {
+        FlightEvents.Combat event = combatEvent;
+        if (event == null) return;
+        combatEvent = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.creature = combatTarget.getName();
+            event.zone = currentZone.getName();
+            event.rounds = combatRounds;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * Gives the player one of an item found while searching.
+     *
+     * @param itemName The name of the item.
+     * @param message  The message telling the player what they found.
+     */
+    private void loot(String itemName, String message) {
+        player.addItem(items.get(itemName), 1);
+        publish(GameEvent.Type.LOOTED, message, itemName, 1);
+    }
+
+    /**
+     * Publishes a fixed message for the player.
+     *
+     * @param message The message.
+     */
+    private void log(String message) {
+        publish(GameEvent.Type.MESSAGE, message, null, 0);
+    }
+
+    /**
+     * Publishes an event at the player's position.
+     *
+     * @param type    The kind of event.
+     * @param text    The fixed text of the event, or null.
+     * @param subject The name of the item, creature, zone or cause the event is about, or null.
+     * @param amount  The number of the event, such as damage dealt or items crafted.
+     */
+    private void publish(GameEvent.Type type, String text, String subject, int amount) {
+        events.publish(type, turn, text, subject, amount, player.getX(), player.getY());
+    }
+
+    /**
+     * Starts building the zone behind the current zone's door once the player is near it, and drops it again once
+     * the player has walked well away. The zone behind a template's door is keyed by its template, and the zone
+     * behind a generated zone's door by the zone it leads from.
+     */
+    private void prefetchNearbyZone() {
+        if (prefetcher == null) return;
+        ZoneTemplate template = currentZone.getTemplate();
+        ZoneTemplate.Door door = template == null ? null : template.getDoor();
+        int distance;
+        if (door != null) {
+            distance = template.distanceToDoor(player.getX(), player.getY());
+        } else if (currentZone.hasNextZone()) {
+            distance = currentZone.distanceToNextZoneDoor(player.getX(), player.getY());
+        } else {
+            prefetcher.drop();
+            return;
+        }
+        if (distance <= PREFETCH_DISTANCE) {
+            if (door != null) {
+                ZoneTemplate target = content.getZone(door.getTarget());
+                prefetcher.prefetch(target, target::instantiate);
+            } else {
+                prefetcher.prefetch(currentZone, currentZone::createNextZone);
+            }
+        } else if (distance > 2 * PREFETCH_DISTANCE) {
+            prefetcher.drop();
+        }
+    }
+
+    /**
+     * Gets what killed the player.
+     *
+     * @return The name of the creature that landed the killing blow, "Starvation", or null if the player is alive.
+     */
+    public String getCauseOfDeath() {
+        return causeOfDeath;
+    }
+
+    /**
+     * Gets the seed the game was started with.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Records every command accepted from now on in a journal.
+     *
+     * @param journal The journal to append to, or null to stop recording.
+     */
+    public void setJournal(CommandJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Replaces the logic that moves the creatures, for example to let them notice the player from further away in
+     * large generated zones.
+     *
+     * @param creatureAI The creature logic to use from the next turn on.
+     */
+    public void setCreatureAI(CreatureAI creatureAI) {
+        this.creatureAI = creatureAI;
+    }
+
+    /**
+     * Chooses where the zone behind a door is built while the player approaches it. Games start without
+     * prefetching, so headless runs such as balance games and replays never touch another thread; interactive
+     * games turn it on.
+     *
+     * @param executor The executor to build zones on, or null to build each zone only when its door is opened.
+     */
+    public void setZonePrefetchExecutor(Executor executor) {
+        if (prefetcher != null) {
+            prefetcher.drop();
+        }
+        prefetcher = executor == null ? null : new ZonePrefetcher(executor);
+    }
+
+    /**
+     * Times the phases of every turn from now on.
+     *
+     * @param metrics The metrics to record into, or null to stop timing.
+     */
+    public void setMetrics(TurnMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets the metrics the phases of each turn are timed into.
+     *
+     * @return The metrics, or null if turns are not timed.
+     */
+    public TurnMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Counts the creatures the player can see from where they stand.
+     *
+     * @return The number of creatures in view.
+     */
+    public int getVisibleCreatureCount() {
+        CreatureStore creatures = currentZone.getCreatureStore();
+        int found = creatures.findWithin(player.getX(), player.getY(), VIEW_RADIUS);
+        int visible = 0;
+        for (int n = 0; n < found; n++) {
+            int index = creatures.foundAt(n);
+            if (currentZone.isVisible(creatures.getX(index), creatures.getY(index))) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Gets the player.
+     *
+     * @return The player.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the zone the player is currently in.
+     *
+     * @return The current zone.
+     */
+    public GameZone getCurrentZone() {
+        return currentZone;
+    }
+
+    /**
+     * Replaces the current zone. Used to set up custom zones for simulations and benchmarks.
+     *
+     * @param zone The new current zone.
+     */
+    void setCurrentZone(GameZone zone) {
+        this.currentZone = zone;
+    }
+
+    /**
+     * Gets the crafting recipes available in the game.
+     *
+     * @return The crafting recipes, each at the index of its id in the content's {@link RecipeBook}.
+     */
+    public List<CraftingRecipe> getRecipes() {
+        return recipeBook.getRecipes();
+    }
+
+    /**
+     * Gets the items, recipes and zones the game is played with.
+     *
+     * @return The game content.
+     */
+    public GameContent getContent() {
+        return content;
+    }
+
+    /**
+     * Gets an item by its name.
+     *
+     * @param name The name of the item.
+     * @return The item, or null if there is no item with that name.
+     */
+    public Item getItem(String name) {
+        return items.get(name);
+    }
+
+    /**
+     * Gets the most recent messages, oldest first.
+     *
+     * @return The message log, which only keeps its last few messages.
+     */
+    public MessageLog getMessageLog() {
+        events.flush();
+        return messageLog;
+    }
+
+    /**
+     * Gets the bus the game publishes its events on, for renderers, metrics and other listeners to subscribe to.
+     *
+     * @return The event bus.
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Streams the messages still kept, and every message logged from now on, to a spill, which keeps the full history
+     * the message log drops.
+     *
+     * @param spill The spill to write to, or null to stop.
+     */
+    public void setMessageSpill(MessageSpill spill) {
+        events.flush();
+        messageLog.setSpill(spill);
+    }
+
+    /**
+     * Gets the current status of the game.
+     *
+     * @return The game status.
+     */
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the creature the player is fighting.
+     *
+     * @return The creature, or null if the player is not in combat.
+     */
+    public Creature getCombatTarget() {
+        return combatTarget;
+    }
+
+    /**
+     * Gets the number of turns that have passed.
+     *
+     * @return The number of completed turns.
+     */
+    public int getTurn() {
+        return turn;
+    }
+}
@@ -0,0 +1,186 @@
+package in.stl.staticdecay;
+
+/**
+ * Something that happened in a game, as published by the engine on its {@link GameEventBus}. An event holds the raw
+ * facts, such as a creature's name and the damage dealt, and only builds the text a player would read when
+ * {@link #describe()} is called, so games nobody watches never format a message.
+ * <p>
+ * The bus reuses its events, so a listener must copy anything it wants to keep before it returns.
+ */
+public final class GameEvent {
+
+    /**
+     * The kinds of event. Events of a silent kind are never shown to the player.
+     */
+    public enum Type {
+        /** A fixed message, found in the text. */
+        MESSAGE(false),
+        /** The player moved to x, y. */
+        MOVED(true),
+        /** The player entered the zone named by the subject. */
+        ZONE_CHANGED(true),
+        /** The player searched the container described by the subject. */
+        SEARCHED(false),
+        /** The player found the item named by the subject; the text says so. */
+        LOOTED(false),
+        /** The player used the item named by the subject; the text is its effect. */
+        USED(false),
+        /** The player equipped the weapon named by the subject. */
+        EQUIPPED(false),
+        /** The player crafted the item named by the subject, amount times. */
+        CRAFTED(false),
+        /** The player tried to craft more than their ingredients allow, which is amount times. */
+        CRAFT_SHORT(false),
+        /** The player ran into the creature named by the subject. */
+        ENCOUNTERED(false),
+        /** The player hit the creature named by the subject for amount damage. */
+        ATTACKED(false),
+        /** The creature named by the subject hit the player for amount damage. */
+        HIT(false),
+        /** The creature named by the subject took amount sanity from the player. */
+        WHISPERED(false),
+        /** The player killed the creature named by the subject. */
+        DEFEATED(false),
+        /** The player died of the cause named by the subject. */
+        DIED(true);
+
+        private final boolean silent;
+
+        Type(boolean silent) {
+            this.silent = silent;
+        }
+
+        /**
+         * Checks if events of this kind are for listeners only and never shown to the player.
+         *
+         * @return True if the events have no text, false otherwise.
+         */
+        public boolean isSilent() {
+            return silent;
+        }
+    }
+
+    private Type type;
+    private int turn;
+    private String text;
+    private String subject;
+    private int amount;
+    private int x;
+    private int y;
+
+    /**
+     * Fills the event in, replacing whatever it held before.
+     *
+     * @param type    The kind of event.
+     * @param turn    The turn the event happened on.
+     * @param text    The fixed text of the event, or null.
+     * @param subject The name of the item, creature, zone or cause the event is about, or null.
+     * @param amount  The number of the event, such as damage dealt or items crafted.
+     * @param x       The x-coordinate of the event.
+     * @param y       The y-coordinate of the event.
+     */
+    void set(Type type, int turn, String text, String subject, int amount, int x, int y) {
+        this.type = type;
+        this.turn = turn;
+        this.text = text;
+        this.subject = subject;
+        this.amount = amount;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Makes this event a copy of another.
+     *
+     * @param other The event to copy.
+     */
+    void copyFrom(GameEvent other) {
+        set(other.type, other.turn, other.text, other.subject, other.amount, other.x, other.y);
+    }
+
+    /**
+     * Builds the text the player reads for this event.
+     *
+     * @return The message, or null if the event is silent.
+     */
+    public String describe() {
+        return switch (type) {
+            case MESSAGE, LOOTED, USED -> text;
+            case SEARCHED -> "You search the " + subject.toLowerCase() + "...";
+            case EQUIPPED -> "You equipped the " + subject + ".";
+            case CRAFTED -> amount == 1
+                    ? "You successfully crafted a " + subject + "!"
+                    : "You successfully crafted " + amount + " x " + subject + "!";
+            case CRAFT_SHORT -> "You only have the ingredients for " + amount + ".";
+            case ENCOUNTERED -> "You encounter a " + subject + "!";
+            case ATTACKED -> "You attack the " + subject + " for " + amount + " damage.";
+            case HIT -> "The " + subject + " attacks you for " + amount + " damage.";
+            case WHISPERED -> "The " + subject + "'s whispers echo in your mind! You lose " + amount + " sanity.";
+            case DEFEATED -> "You defeated the " + subject + "!";
+            case MOVED, ZONE_CHANGED, DIED -> null;
+        };
+    }
+
+    /**
+     * Gets the kind of event.
+     *
+     * @return The event type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the turn the event happened on.
+     *
+     * @return The number of turns completed before the event.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Gets the fixed text of the event.
+     *
+     * @return The text, or null if the event's message is built from its other fields.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets the name of the item, creature, zone or cause of death the event is about.
+     *
+     * @return The name, or null if the event is about none.
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Gets the number of the event, such as the damage dealt or the number of items crafted.
+     *
+     * @return The amount, or 0 if the event has none.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the x-coordinate of the event.
+     *
+     * @return The x-coordinate, or 0 if the event has no position.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y-coordinate of the event.
+     *
+     * @return The y-coordinate, or 0 if the event has no position.
+     */
+    public int getY() {
+        return y;
+    }
+}
@@ -0,0 +1,93 @@
+package in.stl.staticdecay;
+
+import java.util.Arrays;
+
+/**
+ * Carries the events of one game from the engine to its listeners. Events are written into a fixed ring of reusable
+ * slots as they happen, and handed to the listeners in order when the engine flushes the bus at the end of a turn, or
+ * earlier if the ring fills up. Publishing an event therefore never allocates, and an event's text is only built if
+ * a listener asks for it. Events published while nobody is listening are dropped.
+ * <p>
+ * Listeners run on the thread that drives the game and must not publish events themselves.
+ */
+public final class GameEventBus {
+
+    private final GameEvent[] queue;
+    private int queued;
+    private GameEventListener[] listeners = new GameEventListener[0];
+
+    /**
+     * Constructs a new GameEventBus object.
+     *
+     * @param capacity The number of events held before the bus flushes on its own.
+     */
+    public GameEventBus(int capacity) {
+        this.queue = new GameEvent[Math.max(1, capacity)];
+        for (int i = 0; i < queue.length; i++) {
+            queue[i] = new GameEvent();
+        }
+    }
+
+    /**
+     * Adds a listener that receives every event flushed from now on.
+     *
+     * @param listener The listener.
+     */
+    public void subscribe(GameEventListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener to remove.
+     * @return True if the listener was subscribed, false otherwise.
+     */
+    public boolean unsubscribe(GameEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameEventListener[] remaining = new GameEventListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                listeners = remaining;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues an event, flushing the queue first if it is full.
+     *
+     * @param type    The kind of event.
+     * @param turn    The turn the event happened on.
+     * @param text    The fixed text of the event, or null.
+     * @param subject The name of the item, creature, zone or cause the event is about, or null.
+     * @param amount  The number of the event, such as damage dealt or items crafted.
+     * @param x       The x-coordinate of the event.
+     * @param y       The y-coordinate of the event.
+     */
+    void publish(GameEvent.Type type, int turn, String text, String subject, int amount, int x, int y) {
+        if (listeners.length == 0) return;
+        if (queued == queue.length) {
+            flush();
+        }
+        queue[queued++].set(type, turn, text, subject, amount, x, y);
+    }
+
+    /**
+     * Hands every queued event to the listeners, oldest first, and empties the queue.
+     */
+    public void flush() {
+        GameEventListener[] targets = listeners;
+        for (int i = 0; i < queued; i++) {
+            GameEvent event = queue[i];
+            for (GameEventListener listener : targets) {
+                listener.onEvent(event);
+            }
+            event.set(null, 0, null, null, 0, 0, 0);
+        }
+        queued = 0;
+    }
+}
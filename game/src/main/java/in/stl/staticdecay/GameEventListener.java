@@ -0,0 +1,14 @@
+package in.stl.staticdecay;
+
+/**
+ * Receives the events of a game from its {@link GameEventBus}, in the order they happened.
+ */
+public interface GameEventListener {
+
+    /**
+     * Handles one event. The event is reused once this returns, so anything worth keeping must be copied out of it.
+     *
+     * @param event The event.
+     */
+    void onEvent(GameEvent event);
+}
@@ -0,0 +1,469 @@
+package in.stl.staticdecay;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts games for telnet clients. Every connection gets its own {@link StaticDecayGame} session, with its own engine
+ * and its own input and output streams, running on its own thread. All sessions share one immutable
+ * {@link GameContent}.
+ * <p>
+ * Sessions run on virtual threads when the runtime has them, so thousands of mostly idle players cost little more than
+ * their game state. On older runtimes each session gets a platform thread with a small stack instead.
+ */
+public class GameServer implements AutoCloseable {
+
+    // Stack size for platform session threads. A session's deepest call is the shadowcasting recursion.
+    private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+
+    private final InetSocketAddress address;
+    private final GameContent content;
+    private final int columns;
+    private final boolean virtualThreads;
+    private final ExecutorService sessions;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder turnNanos = new LongAdder();
+    private final AtomicLong maxTurnNanos = new AtomicLong();
+    private final AtomicLong sessionCount = new AtomicLong();
+    private Path logDirectory;
+    private volatile boolean metricsEnabled;
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+
+    /**
+     * Constructs a new GameServer object. The server does not listen until it is started.
+     *
+     * @param address The address to listen on. Port 0 picks a free port.
+     * @param content The content shared by every session.
+     * @param columns The terminal width assumed for clients.
+     */
+    public GameServer(InetSocketAddress address, GameContent content, int columns) {
+        this.address = address;
+        this.content = content;
+        this.columns = columns;
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.sessions = virtual != null ? virtual : Executors.newCachedThreadPool(newPlatformThreadFactory());
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task, if the runtime supports virtual threads. It is looked
+     * up by reflection so the server still builds and runs on runtimes without them.
+     *
+     * @return The executor, or null if virtual threads are not available.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory newPlatformThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(null, task, "session-" + count.incrementAndGet(), PLATFORM_STACK_SIZE);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Writes the full message history of every session started from now on to its own file in a directory, named
+     * after the session's number and seed.
+     *
+     * @param logDirectory The directory, which must exist, or null to keep no history.
+     */
+    public void setLogDirectory(Path logDirectory) {
+        this.logDirectory = logDirectory;
+    }
+
+    /**
+     * Times the phases of every turn of the sessions started from now on, and publishes each session's
+     * {@link TurnMetrics} over JMX while it runs, named after the session's number.
+     *
+     * @param metricsEnabled True to time turns, false to leave them untimed.
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    /**
+     * Starts listening and accepting connections on a background thread.
+     *
+     * @throws IOException If the server cannot listen on its address.
+     */
+    public void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(address, 1024);
+        acceptor = new Thread(this::acceptLoop, "static-decay-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                try {
+                    socket.setTcpNoDelay(true);
+                    connections.add(socket);
+                    long seed = ThreadLocalRandom.current().nextLong();
+                    long session = sessionCount.incrementAndGet();
+                    Path log = logDirectory == null ? null
+                            : logDirectory.resolve("session-" + session + "-" + Long.toHexString(seed) + ".log");
+                    sessions.execute(() -> serve(socket, session, seed, log));
+                } catch (IOException | RuntimeException e) {
+                    // The session never started, so nothing else will close its connection.
+                    connections.remove(socket);
+                    try {
+                        socket.close();
+                    } catch (IOException closeFailed) {
+                        // The connection is being dropped anyway.
+                    }
+                }
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) return;
+                // Usually out of file descriptors. Back off instead of spinning until sessions end.
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays one session to the end and closes its connection.
+     *
+     * @param socket  The client connection.
+     * @param session The number of the session.
+     * @param seed    The seed of the session's game.
+     * @param log     The file to write the session's message history to, or null for none.
+     */
+    private void serve(Socket socket, long session, long seed, Path log) {
+        activeSessions.incrementAndGet();
+        TurnMetrics metrics = metricsEnabled ? new TurnMetrics() : null;
+        try (socket; MessageSpill spill = log == null ? null : MessageSpill.toFile(log)) {
+            OutputStream out = new TelnetOutputStream(socket.getOutputStream());
+            GameEngine engine = new GameEngine(content, seed);
+            engine.setMessageSpill(spill);
+            engine.setZonePrefetchExecutor(ForkJoinPool.commonPool());
+            if (metrics != null) {
+                metrics.register(Long.toString(session));
+                engine.setMetrics(metrics);
+            }
+            InputStream in = new TimedInputStream(new TelnetInputStream(socket.getInputStream()));
+            new StaticDecayGame(engine, in, out, columns).run();
+        } catch (IOException | UncheckedIOException e) {
+            // The player dropped the connection; closing the socket is all the clean-up a session needs.
+        } finally {
+            if (metrics != null) {
+                metrics.unregister();
+            }
+            connections.remove(socket);
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Checks if sessions run on virtual threads.
+     *
+     * @return True for virtual threads, false for platform threads.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Gets the number of sessions currently being played.
+     *
+     * @return The number of sessions.
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Gets the number of turns handled across all sessions. A turn runs from a line of input arriving to the session
+     * waiting for the next one.
+     *
+     * @return The number of turns.
+     */
+    public long getTurnCount() {
+        return turns.sum();
+    }
+
+    /**
+     * Gets the mean time the server spent on a turn, including rendering and sending the frame.
+     *
+     * @return The mean turn time in nanoseconds, or 0 if no turns have been handled.
+     */
+    public long getMeanTurnNanos() {
+        long count = turns.sum();
+        return count == 0 ? 0 : turnNanos.sum() / count;
+    }
+
+    /**
+     * Gets the longest time the server spent on a turn.
+     *
+     * @return The longest turn time in nanoseconds.
+     */
+    public long getMaxTurnNanos() {
+        return maxTurnNanos.get();
+    }
+
+    /**
+     * Stops accepting connections and disconnects every session.
+     *
+     * @throws IOException If the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // The session is ending anyway.
+            }
+        }
+        sessions.shutdown();
+    }
+
+    /**
+     * Translates line feeds to the carriage return and line feed pair telnet expects. Each write reaches the socket
+     * as one write, so a frame still goes out in a single packet.
+     */
+    private static final class TelnetOutputStream extends FilterOutputStream {
+
+        private byte[] scratch = new byte[0];
+
+        TelnetOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (b == '\n') out.write('\r');
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int lineFeeds = 0;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') lineFeeds++;
+            }
+            if (lineFeeds == 0) {
+                out.write(b, off, len);
+                return;
+            }
+            if (scratch.length < len + lineFeeds) scratch = new byte[len + lineFeeds];
+            int n = 0;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') scratch[n++] = '\r';
+                scratch[n++] = b[i];
+            }
+            out.write(scratch, 0, n);
+        }
+    }
+
+    /**
+     * Strips telnet commands from what the client sends, so option negotiation such as the bytes PuTTY or a telnet
+     * client in character mode sends on connecting never reaches the game as typed text. An escaped 0xFF byte is kept
+     * as data, and the NUL that telnet sends after a bare carriage return is turned into a line feed. The filtered
+     * bytes are buffered, so {@link #available()} only counts text the game will actually read.
+     */
+    private static final class TelnetInputStream extends FilterInputStream {
+
+        private static final int IAC = 255;
+        private static final int SB = 250;
+        private static final int SE = 240;
+        private static final int WILL = 251;
+        private static final int DONT = 254;
+
+        private static final int DATA = 0;
+        private static final int COMMAND = 1;
+        private static final int OPTION = 2;
+        private static final int SUBNEGOTIATION = 3;
+        private static final int SUBNEGOTIATION_COMMAND = 4;
+        private static final int CARRIAGE_RETURN = 5;
+
+        private final byte[] buffer = new byte[512];
+        private int start;
+        private int end;
+        private int state = DATA;
+
+        TelnetInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (start == end && !fill(true)) return -1;
+            return buffer[start++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (start == end && !fill(true)) return -1;
+            int n = Math.min(len, end - start);
+            System.arraycopy(buffer, start, b, off, n);
+            start += n;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (start == end) fill(false);
+            return end - start;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && (start < end || fill(true))) {
+                int step = (int) Math.min(n - skipped, end - start);
+                start += step;
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * Reads more text into the empty buffer.
+         *
+         * @param block True to wait for text, false to only take what has already arrived.
+         * @return True if there is text to read, false at the end of the stream or if nothing had arrived.
+         */
+        private boolean fill(boolean block) throws IOException {
+            start = 0;
+            end = 0;
+            while (true) {
+                int ready = block ? buffer.length : Math.min(in.available(), buffer.length);
+                if (ready == 0) return false;
+                int n = in.read(buffer, 0, ready);
+                if (n < 0) return false;
+                end = filter(n);
+                if (end > 0) return true;
+            }
+        }
+
+        /**
+         * Removes the telnet commands from the first bytes of the buffer, in place.
+         *
+         * @param length The number of bytes read.
+         * @return The number of text bytes left at the start of the buffer.
+         */
+        private int filter(int length) {
+            int n = 0;
+            for (int i = 0; i < length; i++) {
+                int b = buffer[i] & 0xFF;
+                switch (state) {
+                    case COMMAND -> {
+                        if (b == IAC) {
+                            buffer[n++] = (byte) b;
+                            state = DATA;
+                        } else if (b == SB) {
+                            state = SUBNEGOTIATION;
+                        } else {
+                            state = b >= WILL && b <= DONT ? OPTION : DATA;
+                        }
+                    }
+                    case OPTION -> state = DATA;
+                    case SUBNEGOTIATION -> {
+                        if (b == IAC) state = SUBNEGOTIATION_COMMAND;
+                    }
+                    case SUBNEGOTIATION_COMMAND -> state = b == SE ? DATA : SUBNEGOTIATION;
+                    default -> {
+                        if (b == IAC) {
+                            state = COMMAND;
+                        } else {
+                            // A bare carriage return arrives as CR NUL. It ends the line, so the NUL becomes the line
+                            // feed a reader would otherwise wait for.
+                            buffer[n++] = state == CARRIAGE_RETURN && b == 0 ? (byte) '\n' : (byte) b;
+                            state = b == '\r' ? CARRIAGE_RETURN : DATA;
+                        }
+                    }
+                }
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Times each turn of a session: the span from input arriving to the session asking for more input.
+     */
+    private final class TimedInputStream extends FilterInputStream {
+
+        private long arrived = -1;
+
+        TimedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            recordTurn();
+            int b = super.read();
+            arrived = System.nanoTime();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            recordTurn();
+            int n = super.read(b, off, len);
+            arrived = System.nanoTime();
+            return n;
+        }
+
+        private void recordTurn() {
+            if (arrived < 0) return;
+            long elapsed = System.nanoTime() - arrived;
+            arrived = -1;
+            turns.increment();
+            turnNanos.add(elapsed);
+            maxTurnNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package in.stl.staticdecay;
+
+/**
+ * Represents the state of a game after a command has been processed.
+ */
+public enum GameStatus {
+    EXPLORING, IN_COMBAT, WON, LOST, QUIT;
+
+    /**
+     * Checks if the game has ended.
+     *
+     * @return True if no more commands will be accepted, false otherwise.
+     */
+    public boolean isOver() {
+        return this == WON || this == LOST || this == QUIT;
+    }
+}
@@ -0,0 +1,417 @@
+package in.stl.staticdecay;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Represents a zone in the Static Decay game.
+ */
+public class GameZone {
+
+    private final String name;
+    private final int width;
+    private final int height;
+    private final TileStore tiles;
+    private final CreatureStore creatures;
+    private final List<Creature> creaturesView;
+    private final ZoneTemplate template;
+    private TileMap<Interactable> interactables;
+    private boolean interactablesShared;
+    private final VisibilityMap visibility;
+    private int startX = 1;
+    private int startY = 1;
+    private Supplier<GameZone> nextZone;
+    private int nextZoneDoorX;
+    private int nextZoneDoorY;
+    private int layoutVersion;
+
+    /**
+     * Constructs a new GameZone object.
+     *
+     * @param name          The name of the zone.
+     * @param width         The width of the zone.
+     * @param height        The height of the zone.
+     * @param layout        The layout of the zone.
+     * @param creatures     The creatures in the zone.
+     * @param interactables The interactable objects in the zone.
+     */
+    public GameZone(String name, int width, int height, char[][] layout, List<Creature> creatures,
+                    List<Interactable> interactables) {
+        this(name, new ArrayTileStore(width, height, layout), creatures, interactables);
+    }
+
+    /**
+     * Constructs a new GameZone object whose tiles are kept in the given store.
+     *
+     * @param name          The name of the zone.
+     * @param tiles         The tiles of the zone.
+     * @param creatures     The creatures in the zone.
+     * @param interactables The interactable objects in the zone.
+     */
+    public GameZone(String name, TileStore tiles, List<Creature> creatures, List<Interactable> interactables) {
+        this(name, tiles, new CreatureStore(creatures.size()), interactables);
+        for (Creature creature : creatures) {
+            this.creatures.adopt(creature);
+        }
+    }
+
+    /**
+     * Constructs a new GameZone object whose tiles and creatures are kept in the given stores. Creatures added straight
+     * to a store never need a {@link Creature} object, which suits zones with very many of them.
+     *
+     * @param name          The name of the zone.
+     * @param tiles         The tiles of the zone.
+     * @param creatures     The creatures in the zone.
+     * @param interactables The interactable objects in the zone.
+     */
+    public GameZone(String name, TileStore tiles, CreatureStore creatures, List<Interactable> interactables) {
+        this(name, null, tiles, creatures, new TileMap<>(interactables.size()));
+        for (Interactable interactable : interactables) {
+            this.interactables.put(interactable.getX(), interactable.getY(), interactable);
+        }
+    }
+
+    /**
+     * Constructs a new GameZone object from a template. The zone shares the template's interactables and takes its own
+     * copy the first time one is removed.
+     *
+     * @param template      The template the zone is built from.
+     * @param tiles         The tiles of the zone.
+     * @param creatures     The creatures in the zone.
+     * @param interactables The template's interactables, keyed by tile, which are never modified.
+     */
+    GameZone(ZoneTemplate template, TileStore tiles, CreatureStore creatures, TileMap<Interactable> interactables) {
+        this(template.getName(), template, tiles, creatures, interactables);
+        this.interactablesShared = true;
+    }
+
+    private GameZone(String name, ZoneTemplate template, TileStore tiles, CreatureStore creatures,
+                     TileMap<Interactable> interactables) {
+        this.name = name;
+        this.template = template;
+        this.width = tiles.getWidth();
+        this.height = tiles.getHeight();
+        this.tiles = tiles;
+        this.creatures = creatures;
+        this.creaturesView = new CreatureList(creatures);
+        this.interactables = interactables;
+        this.visibility = new VisibilityMap(width, height);
+    }
+
+    /**
+     * Gets the name of the zone.
+     *
+     * @return The name of the zone.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the template the zone was built from, which says what its note and door do.
+     *
+     * @return The template, or null for zones that were not built from one, such as generated zones.
+     */
+    public ZoneTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the width of the zone.
+     *
+     * @return The width of the zone.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the zone.
+     *
+     * @return The height of the zone.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the x-coordinate where the player starts in this zone.
+     *
+     * @return The starting x-coordinate.
+     */
+    public int getStartX() {
+        return startX;
+    }
+
+    /**
+     * Gets the y-coordinate where the player starts in this zone.
+     *
+     * @return The starting y-coordinate.
+     */
+    public int getStartY() {
+        return startY;
+    }
+
+    /**
+     * Sets where the player starts in this zone. Defaults to (1, 1).
+     *
+     * @param x The starting x-coordinate.
+     * @param y The starting y-coordinate.
+     */
+    public void setStart(int x, int y) {
+        this.startX = x;
+        this.startY = y;
+    }
+
+    /**
+     * Sets where the door of a zone without a template leads, such as the next level of a generated zone.
+     *
+     * @param doorX    The x-coordinate of the door.
+     * @param doorY    The y-coordinate of the door.
+     * @param nextZone Builds the zone behind the door when it is opened, or null if the door leads nowhere. It may
+     *                 be called on another thread while the player walks up to the door.
+     */
+    public void setNextZone(int doorX, int doorY, Supplier<GameZone> nextZone) {
+        this.nextZoneDoorX = doorX;
+        this.nextZoneDoorY = doorY;
+        this.nextZone = nextZone;
+    }
+
+    /**
+     * Checks if the door of a zone without a template leads anywhere.
+     *
+     * @return True if {@link #createNextZone()} builds a zone, false otherwise.
+     */
+    public boolean hasNextZone() {
+        return nextZone != null;
+    }
+
+    /**
+     * Gets how far a tile is from the door set with {@link #setNextZone}, counting a diagonal step as one.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @return The distance, or {@link Integer#MAX_VALUE} if the door leads nowhere.
+     */
+    public int distanceToNextZoneDoor(int x, int y) {
+        if (nextZone == null) return Integer.MAX_VALUE;
+        return Math.max(Math.abs(nextZoneDoorX - x), Math.abs(nextZoneDoorY - y));
+    }
+
+    /**
+     * Builds the zone behind the door of a zone without a template.
+     *
+     * @return The new zone, or null if the door leads nowhere.
+     */
+    public GameZone createNextZone() {
+        return nextZone == null ? null : nextZone.get();
+    }
+
+    /**
+     * Gets the creatures in the zone. Use {@link #addCreature} and {@link #removeCreature} to change them. The list
+     * creates a {@link Creature} object for each creature it hands out, so loops over large zones should use
+     * {@link #getCreatureStore} instead.
+     *
+     * @return A read-only view of the creatures in the zone.
+     */
+    public List<Creature> getCreatures() {
+        return creaturesView;
+    }
+
+    /**
+     * Gets the store holding the state of the zone's creatures.
+     *
+     * @return The creature store.
+     */
+    public CreatureStore getCreatureStore() {
+        return creatures;
+    }
+
+    /**
+     * Gets the creature standing on the specified tile.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The creature, or null if the tile is empty.
+     */
+    public Creature getCreatureAt(int x, int y) {
+        int index = creatures.indexAt(x, y);
+        return index < 0 ? null : creatures.view(index);
+    }
+
+    /**
+     * Gets the creatures within a square radius of the specified tile. Small radii probe the tiles directly, so the
+     * cost does not grow with the number of creatures in the zone.
+     *
+     * @param x      The x-coordinate of the centre.
+     * @param y      The y-coordinate of the centre.
+     * @param radius The maximum distance along either axis.
+     * @return The creatures found, in row order.
+     */
+    public List<Creature> getCreaturesWithin(int x, int y, int radius) {
+        int count = creatures.findWithin(x, y, radius);
+        List<Creature> found = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            found.add(creatures.view(creatures.foundAt(n)));
+        }
+        return found;
+    }
+
+    /**
+     * Adds a creature to the zone.
+     *
+     * @param creature The creature to add.
+     */
+    public void addCreature(Creature creature) {
+        creatures.adopt(creature);
+    }
+
+    /**
+     * Removes a creature from the zone.
+     *
+     * @param creature The creature to remove.
+     */
+    public void removeCreature(Creature creature) {
+        if (creature.isIn(creatures)) {
+            creatures.remove(creatures.indexOf(creature.getHandle()));
+        }
+    }
+
+    /**
+     * Gets the interactable object at the specified coordinates.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The interactable object, or null if there is none.
+     */
+    public Interactable getInteractableAt(int x, int y) {
+        return interactables.get(x, y);
+    }
+
+    /**
+     * Gets the tile at the specified coordinates.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The tile character, or '#' if the coordinates are out of bounds.
+     */
+    public char getTile(int x, int y) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            return tiles.get(x, y);
+        }
+        return '#';
+    }
+
+    /**
+     * Checks if the specified coordinates have been visited.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return True if the coordinates have been visited, false otherwise.
+     */
+    public boolean isVisited(int x, int y) {
+        return visibility.isSeen(x, y);
+    }
+
+    /**
+     * Checks if the specified coordinates are currently in the player's view.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return True if the coordinates are in view, false otherwise.
+     */
+    public boolean isVisible(int x, int y) {
+        return visibility.isVisible(x, y);
+    }
+
+    /**
+     * Marks the specified coordinates as visited.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     */
+    public void markVisited(int x, int y) {
+        visibility.markSeen(x, y);
+    }
+
+    /**
+     * Gets the visibility map of the zone, which tracks the tiles in view and the tiles seen before.
+     *
+     * @return The visibility map.
+     */
+    public VisibilityMap getVisibility() {
+        return visibility;
+    }
+
+    /**
+     * Gets a counter that changes every time the layout of the zone changes.
+     *
+     * @return The layout version.
+     */
+    public int getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * Removes an interactable object from the specified coordinates.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     */
+    public void removeInteractable(int x, int y) {
+        if (interactablesShared && interactables.get(x, y) != null) {
+            interactables = new TileMap<>(interactables);
+            interactablesShared = false;
+        }
+        interactables.remove(x, y);
+        if (tiles.get(x, y) != '.') {
+            tiles.set(x, y, '.');
+            layoutVersion++;
+        }
+    }
+
+    /**
+     * Gets the tiles around a point ready to be read. Only zones whose tiles are kept in a
+     * {@link ChunkedTileStore} have anything to do; the others are always ready.
+     *
+     * @param x      The x-coordinate of the centre.
+     * @param y      The y-coordinate of the centre.
+     * @param radius The distance around the centre to cover.
+     */
+    public void preload(int x, int y, int radius) {
+        if (tiles instanceof ChunkedTileStore chunked) {
+            chunked.preload(x, y, radius);
+        }
+    }
+
+    /**
+     * Releases the resources held by the zone's tile store. Called when the player leaves the zone for good.
+     */
+    public void close() {
+        tiles.close();
+    }
+
+    /**
+     * A read-only list over a creature store that hands out creature objects on demand.
+     */
+    private static final class CreatureList extends AbstractList<Creature> {
+
+        private final CreatureStore store;
+
+        CreatureList(CreatureStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public Creature get(int index) {
+            return store.view(index);
+        }
+
+        @Override
+        public int size() {
+            return store.size();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package in.stl.staticdecay;
+
+/**
+ * Represents an object in a zone that the player can look at, such as a container, a note or a door.
+ */
+public final class Interactable {
+
+    /**
+     * The kinds of interactable objects, with the tile symbol each one is drawn with.
+     */
+    public enum Type {
+        CONTAINER('C'), NOTE('?'), DOOR('D'), EQUIPMENT('E');
+
+        private final char symbol;
+
+        Type(char symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * Gets the tile symbol for this type.
+         *
+         * @return The tile symbol.
+         */
+        public char getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Gets the type drawn with a tile symbol.
+         *
+         * @param symbol The tile symbol.
+         * @return The type.
+         */
+        public static Type fromSymbol(char symbol) {
+            return switch (symbol) {
+                case 'C' -> CONTAINER;
+                case '?' -> NOTE;
+                case 'D' -> DOOR;
+                case 'E' -> EQUIPMENT;
+                default -> throw new IllegalArgumentException("Unknown interactable symbol: " + symbol);
+            };
+        }
+    }
+
+    private final int x;
+    private final int y;
+    private final Type type;
+    private final String description;
+    private final String sightedMessage;
+
+    /**
+     * Constructs a new Interactable object.
+     *
+     * @param x           The x-coordinate of the interactable.
+     * @param y           The y-coordinate of the interactable.
+     * @param type        The type of the interactable.
+     * @param description The description shown to the player.
+     */
+    public Interactable(int x, int y, Type type, String description) {
+        this.x = x;
+        this.y = y;
+        this.type = type;
+        this.description = description;
+        this.sightedMessage = "You see something: " + description;
+    }
+
+    /**
+     * Creates an interactable from the "T:description" form, where T is the type symbol.
+     *
+     * @param x    The x-coordinate of the interactable.
+     * @param y    The y-coordinate of the interactable.
+     * @param spec The type symbol and description separated by a colon.
+     * @return The interactable.
+     */
+    public static Interactable parse(int x, int y, String spec) {
+        return new Interactable(x, y, Type.fromSymbol(spec.charAt(0)), spec.substring(spec.indexOf(':') + 1));
+    }
+
+    /**
+     * Gets the x-coordinate of the interactable.
+     *
+     * @return The x-coordinate of the interactable.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y-coordinate of the interactable.
+     *
+     * @return The y-coordinate of the interactable.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Gets the type of the interactable.
+     *
+     * @return The type of the interactable.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the description of the interactable.
+     *
+     * @return The description of the interactable.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the message logged when the player steps onto the interactable.
+     *
+     * @return The message, built once when the interactable is created.
+     */
+    public String getSightedMessage() {
+        return sightedMessage;
+    }
+}
@@ -1,7 +1,5 @@
 package in.stl.staticdecay;
 
-import java.util.Objects;
-
 /**
  * Represents an item in the Static Decay game.
  */
@@ -9,6 +7,7 @@ public abstract class Item {
 
     protected final String name;
     protected final String description;
+    private int id = -1;
 
     /**
      * Constructs a new Item object with the specified name and description.
@@ -39,16 +38,34 @@ public abstract class Item {
         return description;
     }
 
+    /**
+     * Gets the item's id in the {@link ItemRegistry} it was registered with.
+     *
+     * @return The id, or -1 if the item has not been registered.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the item's id. Only called by {@link ItemRegistry#register}.
+     *
+     * @param id The id.
+     */
+    void assignId(int id) {
+        this.id = id;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Item item = (Item) o;
-        return Objects.equals(name, item.name);
+        return name.equals(item.name);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        return name.hashCode();
     }
 }
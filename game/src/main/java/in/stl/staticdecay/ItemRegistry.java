@@ -0,0 +1,103 @@
+package in.stl.staticdecay;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Gives every item of the game a dense int id, so inventories can count items in a plain array indexed by id, and
+ * finds items by name without regard to case. Items are registered once when the content is built and the registry is
+ * read-only afterwards, so it can be shared by every game.
+ */
+public final class ItemRegistry {
+
+    private final List<Item> items = new ArrayList<>();
+    private final Map<String, Item> byName = new HashMap<>();
+    // Names as written, so the usual lookup with the exact name does not have to lower-case it first.
+    private final Map<String, Item> byExactName = new HashMap<>();
+
+    /**
+     * Constructs a new, empty ItemRegistry.
+     */
+    ItemRegistry() {
+    }
+
+    /**
+     * Registers an item, giving it the next free id.
+     *
+     * @param item The item to register.
+     * @return The item's id.
+     * @throws IllegalArgumentException If the item already has an id or another item has the same name.
+     */
+    int register(Item item) {
+        if (item.getId() >= 0) {
+            throw new IllegalArgumentException(item.getName() + " is already registered");
+        }
+        String key = item.getName().toLowerCase(Locale.ROOT);
+        if (byName.containsKey(key)) {
+            throw new IllegalArgumentException("Another item is already called " + item.getName());
+        }
+        int id = items.size();
+        item.assignId(id);
+        items.add(item);
+        byName.put(key, item);
+        byExactName.put(item.getName(), item);
+        return id;
+    }
+
+    /**
+     * Gets the number of registered items, which is one more than the highest id.
+     *
+     * @return The number of items.
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Gets an item by id.
+     *
+     * @param id The id of the item.
+     * @return The item.
+     * @throws IndexOutOfBoundsException If no item has that id.
+     */
+    public Item get(int id) {
+        return items.get(id);
+    }
+
+    /**
+     * Finds an item by name, ignoring case.
+     *
+     * @param name The name of the item.
+     * @return The item, or null if there is no item with that name.
+     */
+    public Item find(String name) {
+        if (name == null) return null;
+        Item item = byExactName.get(name);
+        return item != null ? item : byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Finds the id of an item by name, ignoring case.
+     *
+     * @param name The name of the item.
+     * @return The id, or -1 if there is no item with that name.
+     */
+    public int findId(String name) {
+        Item item = find(name);
+        return item == null ? -1 : item.getId();
+    }
+
+    /**
+     * Checks if an item is the one registered under its id.
+     *
+     * @param item The item to check.
+     * @return True if the item was registered here, false otherwise.
+     */
+    public boolean contains(Item item) {
+        int id = item.getId();
+        return id >= 0 && id < items.size() && items.get(id) == item;
+    }
+}
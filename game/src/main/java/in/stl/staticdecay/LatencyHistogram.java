@@ -0,0 +1,184 @@
+package in.stl.staticdecay;
+
+import java.beans.ConstructorProperties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in log-linear buckets, so recording one is a couple of atomic increments and never locks or
+ * allocates. Latencies below 16 ns are counted exactly. Above that, every power of two is split into 8 buckets, so a
+ * percentile is never more than an eighth above the true value. Latencies of 2^41 ns, about 36 minutes, or more all
+ * land in the last bucket.
+ * <p>
+ * Any number of threads may record and read at once. A summary taken while latencies are being recorded may miss some
+ * of them, but never counts one twice.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Latencies below this are counted in a bucket of their own.
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int LINEAR_EXPONENT = SUB_BUCKET_BITS + 1;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - LINEAR_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos The latency in nanoseconds. Negative values count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.getAndIncrement(bucketOf(Math.min(value, MAX_VALUE)));
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = LINEAR_EXPONENT + (bucket - LINEAR_LIMIT) / SUB_BUCKETS;
+        int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Forgets every latency recorded so far. Latencies recorded while the histogram is being reset may or may not be
+     * kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        max.set(0);
+    }
+
+    /**
+     * Takes the count, percentiles and maximum of the latencies recorded so far.
+     *
+     * @return The summary.
+     */
+    public Summary summarize() {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long highest = max.get();
+        return new Summary(total, percentile(snapshot, total, 0.5, highest), percentile(snapshot, total, 0.99, highest),
+                percentile(snapshot, total, 0.999, highest), highest);
+    }
+
+    private static long percentile(long[] snapshot, long total, double fraction, long highest) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), highest);
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * The count, percentiles and maximum of a histogram at one moment. Percentiles are the highest latency of the
+     * bucket they fall in, and never more than the maximum.
+     */
+    public static final class Summary {
+
+        private final long count;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+
+        /**
+         * Constructs a new Summary object.
+         *
+         * @param count     The number of latencies recorded.
+         * @param p50Nanos  The median latency in nanoseconds.
+         * @param p99Nanos  The 99th percentile latency in nanoseconds.
+         * @param p999Nanos The 99.9th percentile latency in nanoseconds.
+         * @param maxNanos  The highest latency in nanoseconds.
+         */
+        @ConstructorProperties({"count", "p50Nanos", "p99Nanos", "p999Nanos", "maxNanos"})
+        public Summary(long count, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+            this.count = count;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Gets the number of latencies recorded.
+         *
+         * @return The count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the median latency.
+         *
+         * @return The latency in nanoseconds, or 0 if none were recorded.
+         */
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        /**
+         * Gets the 99th percentile latency.
+         *
+         * @return The latency in nanoseconds, or 0 if none were recorded.
+         */
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        /**
+         * Gets the 99.9th percentile latency.
+         *
+         * @return The latency in nanoseconds, or 0 if none were recorded.
+         */
+        public long getP999Nanos() {
+            return p999Nanos;
+        }
+
+        /**
+         * Gets the highest latency recorded.
+         *
+         * @return The latency in nanoseconds, or 0 if none were recorded.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus", count, p50Nanos / 1000.0,
+                    p99Nanos / 1000.0, p999Nanos / 1000.0, maxNanos / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package in.stl.staticdecay;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+public class Main {
+
+    /**
+     * Starts the game.
+     * <p>
+     * Options: {@code --seed N} starts a game from a fixed seed, {@code --record FILE} writes every command to a
+     * journal, and {@code --replay FILE} replays a journal without a console and prints how the game ended.
+     * {@code --balance GAMES} plays that many games with a scripted policy ({@code --policy NAME}, default
+     * scavenger) on {@code --threads N} threads, starting from the seed given with {@code --seed}, and prints the
+     * aggregate results. {@code --server PORT} hosts games for telnet clients, listening on the loopback interface
+     * unless {@code --bind HOST} says otherwise. {@code --log FILE} writes the full message history of a game to a
+     * file, and {@code --log-dir DIR} does the same for every server session. {@code --metrics} times the phases of
+     * every turn and publishes them over JMX, for the local game or for every server session. {@code --generate WxH}
+     * starts the local game in a generated zone of that size, whose door leads to ever deeper generated zones.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If a journal or message log cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        Long seed = null;
+        Path record = null;
+        Path replay = null;
+        int balanceGames = 0;
+        String policy = "scavenger";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxCommands = 2000;
+        int serverPort = -1;
+        String bind = null;
+        Path log = null;
+        Path logDirectory = null;
+        boolean metrics = false;
+        String generate = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(requireValue(args, ++i));
+                case "--record" -> record = Path.of(requireValue(args, ++i));
+                case "--replay" -> replay = Path.of(requireValue(args, ++i));
+                case "--balance" -> balanceGames = Integer.parseInt(requireValue(args, ++i));
+                case "--policy" -> policy = requireValue(args, ++i);
+                case "--threads" -> threads = Integer.parseInt(requireValue(args, ++i));
+                case "--max-commands" -> maxCommands = Integer.parseInt(requireValue(args, ++i));
+                case "--server" -> serverPort = Integer.parseInt(requireValue(args, ++i));
+                case "--bind" -> bind = requireValue(args, ++i);
+                case "--log" -> log = Path.of(requireValue(args, ++i));
+                case "--log-dir" -> logDirectory = Path.of(requireValue(args, ++i));
+                case "--metrics" -> metrics = true;
+                case "--generate" -> generate = requireValue(args, ++i);
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: [--seed N] [--record FILE] [--log FILE] [--metrics] [--generate WxH]"
+                            + " | --replay FILE"
+                            + " | --balance GAMES [--policy NAME] [--threads N] [--max-commands N] [--seed N]"
+                            + " | --server PORT [--bind HOST] [--log-dir DIR] [--metrics]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        if (serverPort >= 0) {
+            InetSocketAddress address = bind == null
+                    ? new InetSocketAddress(InetAddress.getLoopbackAddress(), serverPort)
+                    : new InetSocketAddress(bind, serverPort);
+            GameServer server = new GameServer(address, GameContent.standard(), 80);
+            server.setLogDirectory(logDirectory);
+            server.setMetricsEnabled(metrics);
+            server.start();
+            System.out.println("Listening on " + address.getHostString() + ":" + server.getPort()
+                    + (server.usesVirtualThreads() ? " with virtual threads" : " with platform threads"));
+            return;
+        }
+
+        if (balanceGames > 0) {
+            BalanceRunner runner = new BalanceRunner(BalancePolicies.byName(policy), maxCommands);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long start = System.nanoTime();
+            BalanceReport report = runner.run(seed == null ? 0 : seed, balanceGames, pool);
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+            System.out.println("Policy: " + policy);
+            System.out.print(report);
+            System.out.printf("Played in %.1f s on %d threads%n", elapsed / 1_000_000_000.0, threads);
+            return;
+        }
+
+        if (replay != null) {
+            CommandJournal journal = CommandJournal.read(replay);
+            long start = System.nanoTime();
+            GameEngine engine = journal.replay();
+            long elapsed = System.nanoTime() - start;
+            System.out.println("Seed: " + journal.getSeed());
+            System.out.println("Commands: " + journal.getCommands().size());
+            System.out.println("Turns: " + engine.getTurn());
+            System.out.println("Outcome: " + engine.getStatus());
+            System.out.println("Zone: " + engine.getCurrentZone().getName());
+            System.out.printf("Replayed in %.3f ms%n", elapsed / 1_000_000.0);
+            return;
+        }
+
+        if (generate != null && record != null) {
+            // A journal only holds the seed and the commands, so its replay would start in the standard zones.
+            System.err.println("--generate cannot be combined with --record");
+            System.exit(2);
+        }
+        GameEngine engine = seed == null ? new GameEngine() : new GameEngine(seed);
+        if (generate != null) {
+            int separator = generate.indexOf('x');
+            if (separator < 0) {
+                System.err.println("--generate needs a size such as 256x256, got " + generate);
+                System.exit(2);
+            }
+            int width = Integer.parseInt(generate.substring(0, separator));
+            int height = Integer.parseInt(generate.substring(separator + 1));
+            engine.enterZone(new ZoneGenerator(engine.getSeed()).generate("The Depths", width, height));
+        }
+        try (CommandJournal journal = record == null ? null : CommandJournal.toFile(engine.getSeed(), record);
+             MessageSpill spill = log == null ? null : MessageSpill.toFile(log)) {
+            engine.setJournal(journal);
+            engine.setMessageSpill(spill);
+            engine.setZonePrefetchExecutor(ForkJoinPool.commonPool());
+            if (metrics) {
+                TurnMetrics turnMetrics = new TurnMetrics();
+                turnMetrics.register("local");
+                engine.setMetrics(turnMetrics);
+            }
+            new StaticDecayGame(engine).run();
+        }
+    }
+
+    private static String requireValue(String[] args, int i) {
+        if (i >= args.length) {
+            System.err.println(args[i - 1] + " needs a value");
+            System.exit(2);
+        }
+        return args[i];
+    }
+}
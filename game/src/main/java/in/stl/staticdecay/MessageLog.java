@@ -0,0 +1,120 @@
+package in.stl.staticdecay;
+
+import java.util.AbstractList;
+
+/**
+ * The game's message log. Only the most recent messages are kept, in a fixed ring of slots, so a long game or a
+ * server session never holds more than the log's capacity. The full history can be streamed to a
+ * {@link MessageSpill} as it is written.
+ * <p>
+ * The log listens to the game's events and keeps a copy of each one the player would read. A message's text is only
+ * built the first time it is asked for, so headless games, which never read their log, never format one.
+ * <p>
+ * As a list, the log holds the messages still kept, oldest first. It cannot be changed through the list methods.
+ */
+public final class MessageLog extends AbstractList<String> implements GameEventListener {
+
+    private final GameEvent[] events;
+    private final String[] texts;
+    private final int mask;
+    private long total;
+    private MessageSpill spill;
+
+    /**
+     * Constructs a new, empty MessageLog.
+     *
+     * @param capacity The number of recent messages to keep, rounded up to a power of two.
+     */
+    public MessageLog(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.events = new GameEvent[slots];
+        this.texts = new String[slots];
+        this.mask = slots - 1;
+        for (int i = 0; i < slots; i++) {
+            events[i] = new GameEvent();
+        }
+    }
+
+    /**
+     * Adds the message of an event, overwriting the oldest one once the log is full. Silent events are ignored.
+     *
+     * @param event The event.
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        if (event.getType().isSilent()) return;
+        int slot = (int) (total & mask);
+        events[slot].copyFrom(event);
+        texts[slot] = null;
+        total++;
+        if (spill != null) {
+            spill.append(text(slot));
+        }
+    }
+
+    private String text(int slot) {
+        String text = texts[slot];
+        if (text == null) {
+            text = events[slot].describe();
+            texts[slot] = text;
+        }
+        return text;
+    }
+
+    /**
+     * Sends the messages still kept, and every message added from now on, to a spill as well.
+     *
+     * @param spill The spill to write the history to, or null to stop.
+     */
+    void setSpill(MessageSpill spill) {
+        this.spill = spill;
+        if (spill != null) {
+            for (int i = 0; i < size(); i++) {
+                spill.append(get(i));
+            }
+        }
+    }
+
+    /**
+     * Gets a kept message.
+     *
+     * @param index The position among the kept messages, 0 being the oldest.
+     * @return The message.
+     */
+    @Override
+    public String get(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Message " + index + " out of bounds for " + size);
+        }
+        return text((int) ((total - size + index) & mask));
+    }
+
+    /**
+     * Gets the number of messages kept.
+     *
+     * @return The number of kept messages, at most the capacity.
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(total, events.length);
+    }
+
+    /**
+     * Gets the number of messages ever added, including the ones no longer kept.
+     *
+     * @return The total number of messages.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the most recent message.
+     *
+     * @return The message, or null if nothing has been logged.
+     */
+    public String latest() {
+        return total == 0 ? null : text((int) ((total - 1) & mask));
+    }
+}
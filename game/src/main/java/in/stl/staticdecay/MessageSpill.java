@@ -0,0 +1,114 @@
+package in.stl.staticdecay;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streams the full history of a {@link MessageLog} to a file without slowing the game down. Appending a message only
+ * stores it in the current batch; full batches are handed to one background thread shared by every spill in the
+ * process, which writes them in order. Whatever is left is written when the spill is closed.
+ */
+public final class MessageSpill implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 256;
+
+    // One writer thread for every spill keeps the batches of each file in order and the thread count fixed.
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "static-decay-log-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Writer writer;
+    private String[] batch = new String[BATCH_SIZE];
+    private int batched;
+    // Only touched on the writer thread until close() has waited for it.
+    private IOException failure;
+
+    private MessageSpill(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Creates a spill that writes one message per line to a file, replacing anything already in it.
+     *
+     * @param file The file to write.
+     * @return The spill.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static MessageSpill toFile(Path file) throws IOException {
+        return new MessageSpill(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds a message to the current batch, handing the batch to the writer thread once it is full.
+     *
+     * @param message The message.
+     */
+    void append(String message) {
+        batch[batched++] = message;
+        if (batched == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands the current batch to the writer thread, even if it is not full.
+     */
+    public void flush() {
+        if (batched == 0) return;
+        String[] full = batch;
+        int count = batched;
+        batch = new String[BATCH_SIZE];
+        batched = 0;
+        WRITER.execute(() -> write(full, count));
+    }
+
+    private void write(String[] messages, int count) {
+        if (failure != null) return;
+        try {
+            for (int i = 0; i < count; i++) {
+                writer.write(messages[i]);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Writes the rest of the history, waits for the writer thread to finish with this spill and closes the file.
+     *
+     * @throws IOException If any message could not be written or the file could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        Future<?> done = WRITER.submit(() -> {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+        });
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the message log", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not close the message log", e.getCause());
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package in.stl.staticdecay;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents the player in the Static Decay game.
+ */
+public class Player {
+
+    private int hp = 100;
+    private int hunger = 100;
+    private int sanity = 100;
+    private int x;
+    private int y;
+    private final ItemRegistry itemRegistry;
+    private final RecipeBook recipeBook;
+    // How many of each item the player carries, indexed by item id.
+    private final int[] itemCounts;
+    private final CraftableRecipes craftableRecipes;
+    private int distinctItems;
+    private Weapon equippedWeapon = null;
+
+    /**
+     * Constructs a new Player object with the specified coordinates.
+     *
+     * @param x The player's starting x-coordinate.
+     * @param y The player's starting y-coordinate.
+     */
+    public Player(int x, int y) {
+        this(x, y, GameContent.standard());
+    }
+
+    /**
+     * Constructs a new Player object with the specified coordinates, able to carry and craft the given content's
+     * items.
+     *
+     * @param x       The player's starting x-coordinate.
+     * @param y       The player's starting y-coordinate.
+     * @param content The items and recipes of the game.
+     */
+    public Player(int x, int y, GameContent content) {
+        this.x = x;
+        this.y = y;
+        this.itemRegistry = content.getItemRegistry();
+        this.recipeBook = content.getRecipeBook();
+        this.itemCounts = new int[itemRegistry.size()];
+        this.craftableRecipes = new CraftableRecipes(recipeBook);
+    }
+
+    /**
+     * Gets the player's current hit points.
+     *
+     * @return The player's current hit points.
+     */
+    public int getHp() {
+        return hp;
+    }
+
+    /**
+     * Gets the player's current hunger level.
+     *
+     * @return The player's current hunger level.
+     */
+    public int getHunger() {
+        return hunger;
+    }
+
+    /**
+     * Gets the player's current sanity level.
+     *
+     * @return The player's current sanity level.
+     */
+    public int getSanity() {
+        return sanity;
+    }
+
+    /**
+     * Gets the player's current x-coordinate.
+     *
+     * @return The player's current x-coordinate.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Gets the player's current y-coordinate.
+     *
+     * @return The player's current y-coordinate.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Gets a copy of the player's inventory, for display. Built on every call, so game logic should use
+     * {@link #getItemCount}, {@link #hasItem} and {@link #findItem} instead.
+     *
+     * @return A new map from each item the player carries to its count, in item id order.
+     */
+    public Map<Item, Integer> getInventory() {
+        Map<Item, Integer> inventory = new LinkedHashMap<>();
+        for (int id = 0; id < itemCounts.length; id++) {
+            if (itemCounts[id] > 0) {
+                inventory.put(itemRegistry.get(id), itemCounts[id]);
+            }
+        }
+        return inventory;
+    }
+
+    /**
+     * Checks if the player carries nothing.
+     *
+     * @return True if the inventory is empty, false otherwise.
+     */
+    public boolean isInventoryEmpty() {
+        return distinctItems == 0;
+    }
+
+    /**
+     * Gets how many of an item the player carries.
+     *
+     * @param item The item.
+     * @return The count, 0 if the player has none.
+     */
+    public int getItemCount(Item item) {
+        return itemCounts[idOf(item)];
+    }
+
+    /**
+     * Gets the player's equipped weapon.
+     *
+     * @return The player's equipped weapon.
+     */
+    public Weapon getEquippedWeapon() {
+        return equippedWeapon;
+    }
+
+    /**
+     * Sets the player's x-coordinate.
+     *
+     * @param x The new x-coordinate.
+     */
+    public void setX(int x) {
+        this.x = x;
+    }
+
+    /**
+     * Sets the player's y-coordinate.
+     *
+     * @param y The new y-coordinate.
+     */
+    public void setY(int y) {
+        this.y = y;
+    }
+
+    /**
+     * Sets the player's equipped weapon.
+     *
+     * @param equippedWeapon The new equipped weapon.
+     */
+    public void setEquippedWeapon(Weapon equippedWeapon) {
+        this.equippedWeapon = equippedWeapon;
+    }
+
+    /**
+     * Reduces the player's hit points by the specified amount.
+     *
+     * @param damage The amount of damage to take.
+     */
+    public void takeDamage(int damage) {
+        this.hp -= damage;
+        if (hp < 0) hp = 0;
+    }
+
+    /**
+     * Increases the player's hit points by the specified amount.
+     *
+     * @param amount The amount of health to restore.
+     */
+    public void heal(int amount) {
+        this.hp += amount;
+        if (hp > 100) hp = 100;
+    }
+
+    /**
+     * Reduces the player's hunger level by the specified amount. A starving player loses 5 HP instead.
+     *
+     * @param amount The amount of hunger to lose.
+     * @return True if the player is starving and took damage, false otherwise.
+     */
+    public boolean loseHunger(int amount) {
+        this.hunger -= amount;
+        if (hunger < 0) {
+            takeDamage(5);
+            this.hunger = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Increases the player's hunger level by the specified amount.
+     *
+     * @param amount The amount of hunger to restore.
+     */
+    public void eat(int amount) {
+        this.hunger += amount;
+        if (hunger > 100) hunger = 100;
+    }
+
+    /**
+     * Reduces the player's sanity level by the specified amount.
+     *
+     * @param amount The amount of sanity to lose.
+     */
+    public void loseSanity(int amount) {
+        this.sanity -= amount;
+        if (sanity < 0) sanity = 0;
+    }
+
+    /**
+     * Increases the player's sanity level by the specified amount.
+     *
+     * @param amount The amount of sanity to gain.
+     */
+    public void gainSanity(int amount) {
+        sanity += amount;
+        if (sanity > 100) sanity = 100;
+    }
+
+    /**
+     * Adds an item to the player's inventory.
+     *
+     * @param item  The item to add.
+     * @param count The number of items to add.
+     */
+    public void addItem(Item item, int count) {
+        int id = idOf(item);
+        setCount(id, itemCounts[id] + count);
+    }
+
+    /**
+     * Removes an item from the player's inventory.
+     *
+     * @param item  The item to remove.
+     * @param count The number of items to remove.
+     * @return True if the item was successfully removed, false otherwise.
+     */
+    public boolean removeItem(Item item, int count) {
+        int id = idOf(item);
+        if (itemCounts[id] >= count) {
+            setCount(id, itemCounts[id] - count);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the recipes the player has the ingredients for, kept up to date as items come and go.
+     *
+     * @return The craftable recipes.
+     */
+    public CraftableRecipes getCraftableRecipes() {
+        return craftableRecipes;
+    }
+
+    /**
+     * Works out how many times the player can craft a recipe.
+     *
+     * @param recipe The id of the recipe in the content's {@link RecipeBook}.
+     * @return The number of times the player can pay for every ingredient.
+     */
+    public int getMaxCrafts(int recipe) {
+        return craftableRecipes.contains(recipe) ? recipeBook.maxCrafts(recipe, itemCounts) : 0;
+    }
+
+    /**
+     * Crafts a recipe several times over, or not at all if the player cannot pay for every one of them.
+     *
+     * @param recipe The id of the recipe in the content's {@link RecipeBook}.
+     * @param times  How many times to craft it.
+     * @return True if the ingredients were taken and the results added, false if nothing changed, including when the
+     *         player could not hold that many more of the result.
+     */
+    public boolean craft(int recipe, int times) {
+        int result = recipeBook.getResultId(recipe);
+        if (times <= 0 || getMaxCrafts(recipe) < times || times > Integer.MAX_VALUE - itemCounts[result]) return false;
+        for (int s = recipeBook.firstIngredient(recipe); s < recipeBook.firstIngredient(recipe + 1); s++) {
+            int id = recipeBook.ingredientId(s);
+            setCount(id, itemCounts[id] - recipeBook.ingredientAmount(s) * times);
+        }
+        setCount(result, itemCounts[result] + times);
+        return true;
+    }
+
+    /**
+     * Checks if the player has a specific item in their inventory.
+     *
+     * @param itemName The name of the item to check for, in any case.
+     * @return True if the player has the item, false otherwise.
+     */
+    public boolean hasItem(String itemName) {
+        return findItem(itemName) != null;
+    }
+
+    /**
+     * Finds an item the player carries by name.
+     *
+     * @param itemName The name of the item, in any case.
+     * @return The item, or null if the player has none of it or there is no such item.
+     */
+    public Item findItem(String itemName) {
+        int id = itemRegistry.findId(itemName);
+        return id >= 0 && itemCounts[id] > 0 ? itemRegistry.get(id) : null;
+    }
+
+    private void setCount(int id, int count) {
+        int before = itemCounts[id];
+        if (before == count) return;
+        itemCounts[id] = count;
+        if (before == 0) {
+            distinctItems++;
+        } else if (count == 0) {
+            distinctItems--;
+        }
+        craftableRecipes.countChanged(id, before, count);
+    }
+
+    private int idOf(Item item) {
+        if (!itemRegistry.contains(item)) {
+            throw new IllegalArgumentException(item.getName() + " is not one of the player's items");
+        }
+        return item.getId();
+    }
+}
@@ -0,0 +1,209 @@
+package in.stl.staticdecay;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The crafting recipes of the game compiled to item ids. Each recipe's ingredients are stored as parallel id and count
+ * arrays, and a reverse index lists the recipes that use each item, so a change to one item's count only touches the
+ * recipes it is an ingredient of. Like the {@link ItemRegistry}, a recipe book is built once with the content and
+ * shared by every game.
+ */
+public final class RecipeBook {
+
+    private final List<CraftingRecipe> recipes;
+    private final Map<CraftingRecipe, Integer> ids;
+    private final int[] resultIds;
+    // The ingredients of recipe r are at [ingredientStart[r], ingredientStart[r + 1]) of ingredientIds and
+    // ingredientCounts.
+    private final int[] ingredientStart;
+    private final int[] ingredientIds;
+    private final int[] ingredientCounts;
+    // The recipes using item i, and how many of it each needs, are at [useStart[i], useStart[i + 1]) of useRecipes and
+    // useCounts.
+    private final int[] useStart;
+    private final int[] useRecipes;
+    private final int[] useCounts;
+
+    /**
+     * Constructs a new RecipeBook, giving each recipe its index in the list as its id. The ids are only kept by the
+     * book, so books built over the same recipes never affect each other.
+     *
+     * @param recipes The recipes. A recipe with no ingredients can always be crafted.
+     * @param items   The items the recipes are made of.
+     * @throws IllegalArgumentException If a recipe is listed twice, or names an item that is not registered.
+     */
+    RecipeBook(List<CraftingRecipe> recipes, ItemRegistry items) {
+        this.recipes = List.copyOf(recipes);
+        int recipeCount = recipes.size();
+        this.ids = new IdentityHashMap<>(recipeCount);
+        this.resultIds = new int[recipeCount];
+        this.ingredientStart = new int[recipeCount + 1];
+        int total = 0;
+        for (CraftingRecipe recipe : recipes) {
+            if (ids.put(recipe, ids.size()) != null) {
+                throw new IllegalArgumentException("The recipe for " + recipe.getResult().getName()
+                        + " is listed twice");
+            }
+            total += recipe.getIngredients().size();
+        }
+        this.ingredientIds = new int[total];
+        this.ingredientCounts = new int[total];
+        this.useStart = new int[items.size() + 1];
+
+        int slot = 0;
+        for (int r = 0; r < recipeCount; r++) {
+            CraftingRecipe recipe = recipes.get(r);
+            resultIds[r] = idOf(items, recipe.getResult().getName());
+            ingredientStart[r] = slot;
+            for (Map.Entry<String, Integer> ingredient : recipe.getIngredients().entrySet()) {
+                int id = idOf(items, ingredient.getKey());
+                ingredientIds[slot] = id;
+                ingredientCounts[slot] = ingredient.getValue();
+                useStart[id + 1]++;
+                slot++;
+            }
+        }
+        ingredientStart[recipeCount] = slot;
+
+        for (int i = 0; i < items.size(); i++) {
+            useStart[i + 1] += useStart[i];
+        }
+        this.useRecipes = new int[total];
+        this.useCounts = new int[total];
+        int[] next = useStart.clone();
+        for (int r = 0; r < recipeCount; r++) {
+            for (int s = ingredientStart[r]; s < ingredientStart[r + 1]; s++) {
+                int use = next[ingredientIds[s]]++;
+                useRecipes[use] = r;
+                useCounts[use] = ingredientCounts[s];
+            }
+        }
+    }
+
+    private static int idOf(ItemRegistry items, String name) {
+        int id = items.findId(name);
+        if (id < 0) {
+            throw new IllegalArgumentException("Unknown item in a recipe: " + name);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the number of recipes.
+     *
+     * @return The number of recipes.
+     */
+    public int size() {
+        return recipes.size();
+    }
+
+    /**
+     * Gets the recipes in id order.
+     *
+     * @return A read-only list of the recipes, each at the index of its id.
+     */
+    public List<CraftingRecipe> getRecipes() {
+        return recipes;
+    }
+
+    /**
+     * Gets the id of a recipe in this book.
+     *
+     * @param recipe The recipe.
+     * @return The id, or -1 if the recipe is not in this book.
+     */
+    public int idOf(CraftingRecipe recipe) {
+        Integer id = ids.get(recipe);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets a recipe by id.
+     *
+     * @param recipe The id of the recipe.
+     * @return The recipe.
+     */
+    public CraftingRecipe get(int recipe) {
+        return recipes.get(recipe);
+    }
+
+    /**
+     * Gets the id of the item a recipe makes.
+     *
+     * @param recipe The id of the recipe.
+     * @return The item id.
+     */
+    public int getResultId(int recipe) {
+        return resultIds[recipe];
+    }
+
+    /**
+     * Gets the number of different ingredients of a recipe.
+     *
+     * @param recipe The id of the recipe.
+     * @return The number of ingredients.
+     */
+    public int getIngredientCount(int recipe) {
+        return ingredientStart[recipe + 1] - ingredientStart[recipe];
+    }
+
+    /**
+     * Works out how many times a recipe can be crafted from the given item counts.
+     *
+     * @param recipe     The id of the recipe.
+     * @param itemCounts How many of each item there are, indexed by item id.
+     * @return The number of times every ingredient can be paid for, or {@link Integer#MAX_VALUE} for a recipe with
+     *         no ingredients.
+     */
+    int maxCrafts(int recipe, int[] itemCounts) {
+        int crafts = Integer.MAX_VALUE;
+        for (int s = ingredientStart[recipe]; s < ingredientStart[recipe + 1]; s++) {
+            crafts = Math.min(crafts, itemCounts[ingredientIds[s]] / ingredientCounts[s]);
+        }
+        return crafts;
+    }
+
+    /**
+     * Gets the first ingredient slot of a recipe. The slots of recipe r run up to {@code firstIngredient(r + 1)}.
+     */
+    int firstIngredient(int recipe) {
+        return ingredientStart[recipe];
+    }
+
+    /**
+     * Gets the item id of an ingredient slot.
+     */
+    int ingredientId(int slot) {
+        return ingredientIds[slot];
+    }
+
+    /**
+     * Gets how many of an ingredient slot's item one craft takes.
+     */
+    int ingredientAmount(int slot) {
+        return ingredientCounts[slot];
+    }
+
+    /**
+     * Gets the first entry of an item in the reverse index. The entries of item i run up to {@code firstUse(i + 1)}.
+     */
+    int firstUse(int itemId) {
+        return useStart[itemId];
+    }
+
+    /**
+     * Gets the recipe of an entry in the reverse index.
+     */
+    int useRecipe(int use) {
+        return useRecipes[use];
+    }
+
+    /**
+     * Gets how many of the item the recipe of an entry in the reverse index needs.
+     */
+    int useAmount(int use) {
+        return useCounts[use];
+    }
+}
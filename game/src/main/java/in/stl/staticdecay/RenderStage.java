@@ -0,0 +1,28 @@
+package in.stl.staticdecay;
+
+/**
+ * One step of the map rendering pipeline. The {@link FrameCompositor} passes every character of a frame through the
+ * active stages in order, so all effects are applied in a single pass over the frame.
+ */
+public interface RenderStage {
+
+    /**
+     * Prepares the stage for a new frame.
+     *
+     * @param engine The game being rendered.
+     * @return True if the stage should run for this frame, false to skip it.
+     */
+    default boolean begin(GameEngine engine) {
+        return true;
+    }
+
+    /**
+     * Shades one character of the frame.
+     *
+     * @param x The x-coordinate of the map tile, or -1 for text outside the map such as the zone header.
+     * @param y The y-coordinate of the map tile, or -1 for text outside the map such as the zone header.
+     * @param c The character produced by the earlier stages.
+     * @return The character to pass on to the later stages.
+     */
+    char shade(int x, int y, char c);
+}
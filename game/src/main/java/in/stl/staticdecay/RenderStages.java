@@ -0,0 +1,122 @@
+package in.stl.staticdecay;
+
+/**
+ * The standard render stages for drawing a zone.
+ */
+public final class RenderStages {
+
+    private RenderStages() {
+    }
+
+    /**
+     * Draws the zone's tiles the player has visited, and blanks out the rest.
+     */
+    public static final class Terrain implements RenderStage {
+
+        private GameZone zone;
+
+        @Override
+        public boolean begin(GameEngine engine) {
+            zone = engine.getCurrentZone();
+            return true;
+        }
+
+        @Override
+        public char shade(int x, int y, char c) {
+            if (x < 0) return c;
+            return zone.isVisited(x, y) ? zone.getTile(x, y) : ' ';
+        }
+    }
+
+    /**
+     * Draws the creatures standing on tiles the player can currently see.
+     */
+    public static final class Creatures implements RenderStage {
+
+        private GameZone zone;
+        private CreatureStore creatures;
+
+        @Override
+        public boolean begin(GameEngine engine) {
+            zone = engine.getCurrentZone();
+            creatures = zone.getCreatureStore();
+            return creatures.size() > 0;
+        }
+
+        @Override
+        public char shade(int x, int y, char c) {
+            if (x < 0 || !zone.isVisible(x, y)) return c;
+            int creature = creatures.indexAt(x, y);
+            if (creature < 0) return c;
+            return creatures.getArchetype(creature) == CreatureArchetype.ANOMALY ? 'A' : 'M';
+        }
+    }
+
+    /**
+     * Draws the player.
+     */
+    public static final class PlayerMarker implements RenderStage {
+
+        private int playerX;
+        private int playerY;
+
+        @Override
+        public boolean begin(GameEngine engine) {
+            playerX = engine.getPlayer().getX();
+            playerY = engine.getPlayer().getY();
+            return true;
+        }
+
+        @Override
+        public char shade(int x, int y, char c) {
+            return x == playerX && y == playerY ? '@' : c;
+        }
+    }
+
+    /**
+     * Scrambles letters and digits, including the zone header, to simulate the player's insanity. Only runs while
+     * the player's sanity is low.
+     */
+    public static final class Scramble implements RenderStage {
+
+        private static final char[] NOISE = "?!#%$*&".toCharArray();
+
+        private final int sanityThreshold;
+        private int seed;
+
+        /**
+         * Constructs a new Scramble stage.
+         *
+         * @param sanityThreshold The sanity below which the stage runs.
+         */
+        public Scramble(int sanityThreshold) {
+            this.sanityThreshold = sanityThreshold;
+        }
+
+        @Override
+        public boolean begin(GameEngine engine) {
+            if (engine.getPlayer().getSanity() >= sanityThreshold) return false;
+            // Seeding from the game and the turn makes a replayed game scramble its frames the same way.
+            long h = engine.getSeed() + engine.getTurn() * 0x9E3779B97F4A7C15L;
+            h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            seed = (int) h | 1;
+            return true;
+        }
+
+        @Override
+        public char shade(int x, int y, char c) {
+            if (!Character.isLetterOrDigit(c)) return c;
+            // A xorshift step is enough for a visual effect and much cheaper than java.util.Random.
+            int r = seed;
+            r ^= r << 13;
+            r ^= r >>> 17;
+            r ^= r << 5;
+            seed = r;
+            if (Integer.remainderUnsigned(r, 100) < 20) {
+                return NOISE[Integer.remainderUnsigned(r >>> 8, NOISE.length)];
+            }
+            return c;
+        }
+    }
+}
@@ -12,6 +12,6 @@ public class Shambler extends Creature {
      * @param y The y-coordinate of the Shambler.
      */
     public Shambler(int x, int y) {
-        super("Shambler", 30, 10, x, y);
+        super(CreatureArchetype.SHAMBLER, x, y);
     }
 }
@@ -12,6 +12,6 @@ public class Stalker extends Creature {
      * @param y The y-coordinate of the Stalker.
      */
     public Stalker(int x, int y) {
-        super("Stalker", 50, 15, x, y);
+        super(CreatureArchetype.STALKER, x, y);
     }
 }
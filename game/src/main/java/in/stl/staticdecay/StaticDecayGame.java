@@ -0,0 +1,314 @@
+package in.stl.staticdecay;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * The terminal client for the Static Decay game. This class reads player input, turns it into commands for the
+ * {@link GameEngine}, and renders the game state to a terminal. The terminal is the console by default, or any pair of
+ * streams, such as a network connection.
+ */
+public class StaticDecayGame {
+
+    private static final String SEPARATOR = "-".repeat(60);
+
+    // Hit points at or below which losing more stops a batch of commands.
+    private static final int LOW_HP = 30;
+
+    private final GameEngine engine;
+    private final InputStream input;
+    private final PrintWriter out;
+    private byte[] line = new byte[64];
+    private final FrameCompositor compositor = FrameCompositor.withDefaultStages();
+    private final TerminalRenderer renderer;
+    private final CommandQueue commands = new CommandQueue();
+    private boolean disconnected;
+
+    /**
+     * Constructs a new StaticDecayGame object with a fresh game.
+     */
+    public StaticDecayGame() {
+        this(new GameEngine());
+    }
+
+    /**
+     * Constructs a new StaticDecayGame object that plays the given game.
+     *
+     * @param engine The engine holding the game state.
+     */
+    StaticDecayGame(GameEngine engine) {
+        this(engine, System.in, System.out, TerminalRenderer.detectColumns());
+    }
+
+    /**
+     * Constructs a new StaticDecayGame object that plays the given game on a terminal reached through streams.
+     *
+     * @param engine  The engine holding the game state.
+     * @param in      The stream the player's input is read from.
+     * @param out     The stream the terminal reads from.
+     * @param columns The width of the terminal.
+     */
+    public StaticDecayGame(GameEngine engine, InputStream in, OutputStream out, int columns) {
+        this.engine = engine;
+        // Menus and frames share one encoder, and input is read as bytes, to keep idle sessions small.
+        this.input = new BufferedInputStream(in, 256);
+        Writer writer = new OutputStreamWriter(out, Charset.defaultCharset());
+        this.out = new PrintWriter(writer);
+        this.renderer = new TerminalRenderer(writer, columns);
+    }
+
+    /**
+     * The main game loop. The game ends early, as if the player quit, when the input runs out.
+     * <p>
+     * A line of several commands is played back to back and the screen is drawn once at the end, or as soon as
+     * something interrupts the batch. The screen is also not drawn while more input is already waiting, so piped
+     * scripts and players typing ahead on a slow link are not sent a frame for every step.
+     */
+    public void run() {
+        while (!engine.getStatus().isOver()) {
+            if (disconnected) {
+                engine.step(Command.quit());
+            } else if (engine.getStatus() == GameStatus.IN_COMBAT) {
+                commands.clear();
+                handleCombatTurn();
+            } else if (!commands.isEmpty()) {
+                playQueuedCommand();
+            } else {
+                if (!isInputWaiting()) {
+                    printGameState();
+                }
+                handlePlayerTurn();
+            }
+        }
+        if (engine.getStatus() == GameStatus.WON) {
+            out.println("CONGRATULATIONS! YOU HAVE BEATEN STATIC DECAY!");
+        }
+        printGameOver();
+    }
+
+    /**
+     * Prints the current game state to the console. Only the parts of the screen that changed since the last frame
+     * are sent to the terminal.
+     */
+    private void printGameState() {
+        TurnMetrics metrics = engine.getMetrics();
+        long start = metrics == null ? 0 : System.nanoTime();
+        Player player = engine.getPlayer();
+        renderer.beginFrame();
+        renderer.print("xxx STATIC DECAY xxx").newLine();
+        renderer.print("HP: ").print(player.getHp())
+                .print("/100 | Hunger: ").print(player.getHunger())
+                .print("/100 | Sanity: ").print(player.getSanity()).print("/100").newLine();
+        renderer.print(SEPARATOR).newLine();
+        renderer.print(compositor.compose(engine));
+        renderer.print(SEPARATOR).newLine();
+        renderer.print("LOG:").newLine();
+        MessageLog messageLog = engine.getMessageLog();
+        for (int i = Math.max(0, messageLog.size() - 5); i < messageLog.size(); i++) {
+            renderer.print("> ").print(messageLog.get(i)).newLine();
+        }
+        renderer.print(SEPARATOR).newLine();
+        renderer.print("COMMANDS: [W/A/S/D] Move (e.g. wwdd or 3w), [I]nventory, [C]raft, [L]ook, [Q]uit").newLine();
+        renderer.print("Your action: ").newLine();
+        renderer.endFrame();
+        out.flush();
+        if (metrics != null) {
+            metrics.record(TurnMetrics.Phase.RENDER, start);
+        }
+    }
+
+    /**
+     * Plays the next command of a batch, and drops the rest of the batch if anything happened that the player should
+     * see first: a fight or the end of the game, a creature coming into view, falling to low health, walking into a
+     * wall or onto something.
+     */
+    private void playQueuedCommand() {
+        Player player = engine.getPlayer();
+        Command command = commands.poll();
+        int hp = player.getHp();
+        int x = player.getX();
+        int y = player.getY();
+        int creaturesInView = engine.getVisibleCreatureCount();
+        engine.step(command);
+        boolean interrupted = engine.getStatus() != GameStatus.EXPLORING
+                || (player.getHp() < hp && player.getHp() <= LOW_HP)
+                || engine.getVisibleCreatureCount() > creaturesInView;
+        if (command.getType() == Command.Type.MOVE) {
+            boolean moved = player.getX() != x || player.getY() != y;
+            interrupted |= !moved
+                    || engine.getCurrentZone().getInteractableAt(player.getX(), player.getY()) != null;
+        }
+        if (interrupted) {
+            commands.clear();
+        }
+    }
+
+    /**
+     * Checks if another line of input has already arrived.
+     *
+     * @return True if input is waiting to be read, false otherwise.
+     */
+    private boolean isInputWaiting() {
+        try {
+            return !disconnected && input.available() > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Handles the player's turn. A line of moves is queued as a batch and played by the main loop.
+     */
+    private void handlePlayerTurn() {
+        String input = readLine().trim().toUpperCase();
+        if (commands.parse(input)) return;
+        Command command = Command.waitTurn();
+        if (!input.isEmpty()) {
+            command = switch (input.charAt(0)) {
+                case 'W', 'A', 'S', 'D' -> Command.move(input.charAt(0));
+                case 'I' -> showInventory();
+                case 'C' -> showCrafting();
+                case 'L' -> Command.look();
+                case 'Q' -> Command.quit();
+                default -> Command.invalid("Unknown command.");
+            };
+        }
+        engine.step(command);
+    }
+
+    /**
+     * Shows the player's inventory and asks which item to use.
+     *
+     * @return The command to use the chosen item.
+     */
+    private Command showInventory() {
+        Player player = engine.getPlayer();
+        if (player.isInventoryEmpty()) {
+            return Command.useItem(null);
+        }
+        renderer.invalidate();
+        out.println("--- INVENTORY ---");
+        player.getInventory().forEach((item, count) -> out.printf("%s x%d - %s%n",
+                item.getName(), count, item.getDescription()));
+        out.println(SEPARATOR);
+        out.println("Enter item name to use/equip, or [B] to go back: ");
+        return Command.useItem(readLine().trim());
+    }
+
+    /**
+     * Shows the crafting menu and asks which recipe to craft, and optionally how many times or "max".
+     *
+     * @return The command to craft the chosen recipe.
+     */
+    private Command showCrafting() {
+        renderer.invalidate();
+        out.println("--- CRAFTING ---");
+        List<CraftingRecipe> recipes = engine.getRecipes();
+        Player player = engine.getPlayer();
+        for (int i = 0; i < recipes.size(); i++) {
+            CraftingRecipe recipe = recipes.get(i);
+            int crafts = player.getMaxCrafts(i);
+            out.printf("[%d] %s <- %s%s%n", i, recipe.getResult().getName(), recipe.getIngredientList(),
+                    crafts > 0 ? " (can make " + crafts + ")" : "");
+        }
+        out.println(SEPARATOR);
+        out.print("Enter recipe number to craft, optionally followed by a count or MAX, or [B] to go back: ");
+        String[] parts = readLine().trim().split("\\s+");
+        if (parts[0].equalsIgnoreCase("B") || parts[0].isEmpty()) return Command.waitTurn();
+        try {
+            int recipe = Integer.parseInt(parts[0]);
+            if (parts.length == 1) return Command.craft(recipe);
+            if (parts[1].equalsIgnoreCase("MAX")) return Command.craft(recipe, Command.CRAFT_MAX);
+            return Command.craft(recipe, Integer.parseInt(parts[1]));
+        } catch (NumberFormatException e) {
+            return Command.invalid("Invalid recipe number.");
+        }
+    }
+
+    /**
+     * Handles one round of combat.
+     */
+    private void handleCombatTurn() {
+        Creature creature = engine.getCombatTarget();
+        Player player = engine.getPlayer();
+        renderer.invalidate();
+        out.println("--- COMBAT ---");
+        out.println(creature.getName() + " HP: " + creature.getHp());
+        out.println("Your HP: " + player.getHp());
+        out.println("Actions: [A]ttack, [I]tem, [R]un");
+        out.print("Your choice: ");
+        String action = readLine().trim().toUpperCase();
+        Command command = Command.waitTurn();
+        if (!action.isEmpty()) {
+            switch (action.charAt(0)) {
+                case 'A' -> command = Command.attack();
+                case 'I' -> {
+                    out.println("Use which item? (Type name or B for back)");
+                    player.getInventory()
+                            .keySet()
+                            .stream()
+                            .filter(item -> item instanceof Consumable)
+                            .forEach(item -> out.println("-" + item.getName()));
+                    command = Command.useItem(readLine());
+                }
+                case 'R' -> command = Command.run();
+            }
+        }
+        engine.step(command);
+    }
+
+    /**
+     * Reads one line of input, first flushing any prompt still buffered in the output. The wait for the line is timed
+     * as input wait.
+     *
+     * @return The line, or an empty line once the input has run out.
+     */
+    private String readLine() {
+        out.flush();
+        TurnMetrics metrics = engine.getMetrics();
+        long start = metrics == null ? 0 : System.nanoTime();
+        try {
+            return readLineUntimed();
+        } finally {
+            if (metrics != null) {
+                metrics.record(TurnMetrics.Phase.INPUT_WAIT, start);
+            }
+        }
+    }
+
+    private String readLineUntimed() {
+        if (!disconnected) {
+            try {
+                int length = 0;
+                int b;
+                while ((b = input.read()) >= 0 && b != '\n') {
+                    if (length == line.length) line = Arrays.copyOf(line, length * 2);
+                    line[length++] = (byte) b;
+                }
+                if (b >= 0 || length > 0) {
+                    if (length > 0 && line[length - 1] == '\r') length--;
+                    return new String(line, 0, length, Charset.defaultCharset());
+                }
+            } catch (IOException e) {
+                // A broken connection ends the game the same way a closed one does.
+            }
+            disconnected = true;
+        }
+        return "";
+    }
+
+    /**
+     * Prints the game over screen.
+     */
+    private void printGameOver() {
+        out.println("====================");
+        out.println("---GAME OVER---");
+        out.println("====================");
+        String latest = engine.getMessageLog().latest();
+        if (latest != null) {
+            out.println(latest);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,265 @@
+package in.stl.staticdecay;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Draws full-screen frames to a terminal. The renderer remembers the previous frame and only sends the cells that
+ * changed, using cursor positioning escape codes, and writes each frame with a single flush. Lines longer than the
+ * screen width are wrapped so every row of the frame is exactly one row of the terminal.
+ */
+public class TerminalRenderer {
+
+    private static final char ESC = '\033';
+    // Changed cells closer together than this are sent as one run; the gap is cheaper than another escape code.
+    private static final int MERGE_GAP = 4;
+
+    private final Writer out;
+    private final int columns;
+    private char[][] previous = new char[0][];
+    private int[] previousLengths = new int[0];
+    private int previousRows;
+    private char[][] current = new char[0][];
+    private int[] currentLengths = new int[0];
+    private int row;
+    private boolean fullRedraw = true;
+    private char[] buffer = new char[1024];
+    private int bufferLength;
+
+    /**
+     * Constructs a new TerminalRenderer object.
+     *
+     * @param out     The stream the terminal reads from.
+     * @param columns The width of the terminal.
+     */
+    public TerminalRenderer(PrintStream out, int columns) {
+        this(new OutputStreamWriter(out, Charset.defaultCharset()), columns);
+    }
+
+    /**
+     * Constructs a new TerminalRenderer object that writes through an existing writer. Frames are assembled in the
+     * renderer's own buffer and written in one call, so the writer needs no buffer of its own.
+     *
+     * @param out     The writer the terminal reads from.
+     * @param columns The width of the terminal.
+     */
+    public TerminalRenderer(Writer out, int columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the terminal width from the COLUMNS environment variable.
+     *
+     * @return The terminal width, or 80 if it is not known.
+     */
+    public static int detectColumns() {
+        try {
+            return Math.max(20, Integer.parseInt(System.getenv().getOrDefault("COLUMNS", "80")));
+        } catch (NumberFormatException e) {
+            return 80;
+        }
+    }
+
+    /**
+     * Forces the next frame to clear the screen and redraw everything. Call this after anything other than the
+     * renderer has written to the terminal.
+     */
+    public void invalidate() {
+        fullRedraw = true;
+    }
+
+    /**
+     * Starts a new frame.
+     */
+    public void beginFrame() {
+        row = 0;
+        ensureRow(0);
+        currentLengths[0] = 0;
+    }
+
+    /**
+     * Appends text to the current row of the frame.
+     *
+     * @param text The text to append. Line breaks start a new row.
+     * @return This renderer.
+     */
+    public TerminalRenderer print(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            put(text.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Appends characters to the current row of the frame.
+     *
+     * @param chars The characters to append. Line breaks start a new row.
+     * @return This renderer.
+     */
+    public TerminalRenderer print(char[] chars) {
+        for (char c : chars) {
+            put(c);
+        }
+        return this;
+    }
+
+    /**
+     * Appends a number to the current row of the frame.
+     *
+     * @param value The number to append.
+     * @return This renderer.
+     */
+    public TerminalRenderer print(int value) {
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        int divisor = 1;
+        while (value / divisor >= 10) divisor *= 10;
+        for (; divisor > 0; divisor /= 10) {
+            put((char) ('0' + value / divisor % 10));
+        }
+        return this;
+    }
+
+    /**
+     * Ends the current row of the frame.
+     *
+     * @return This renderer.
+     */
+    public TerminalRenderer newLine() {
+        put('\n');
+        return this;
+    }
+
+    /**
+     * Sends the frame to the terminal and leaves the cursor on a cleared line below it, ready for input.
+     */
+    public void endFrame() {
+        int rows = currentLengths[row] > 0 ? row + 1 : row;
+        bufferLength = 0;
+        if (fullRedraw) {
+            append(ESC).append('[').append('H').append(ESC).append('[').append('2').append('J');
+            for (int r = 0; r < rows; r++) {
+                append(current[r], 0, currentLengths[r]);
+                append('\n');
+            }
+        } else {
+            for (int r = 0; r < rows; r++) {
+                diffRow(r);
+            }
+            for (int r = rows; r < previousRows; r++) {
+                moveTo(r, 0);
+                append(ESC).append('[').append('K');
+            }
+            moveTo(rows, 0);
+            append(ESC).append('[').append('K');
+        }
+        try {
+            out.write(buffer, 0, bufferLength);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        swapFrames(rows);
+        fullRedraw = false;
+    }
+
+    /**
+     * Sends the changed runs of one row.
+     *
+     * @param r The row to compare.
+     */
+    private void diffRow(int r) {
+        char[] now = current[r];
+        int nowLength = currentLengths[r];
+        char[] before = r < previousRows ? previous[r] : null;
+        int beforeLength = r < previousRows ? previousLengths[r] : 0;
+        int common = Math.min(nowLength, beforeLength);
+        int c = 0;
+        while (c < nowLength) {
+            if (c < common && now[c] == before[c]) {
+                c++;
+                continue;
+            }
+            int start = c;
+            int end = c + 1;
+            for (int scan = end; scan < nowLength && scan - end < MERGE_GAP; scan++) {
+                if (scan >= common || now[scan] != before[scan]) {
+                    end = scan + 1;
+                }
+            }
+            moveTo(r, start);
+            append(now, start, end - start);
+            c = end;
+        }
+        if (nowLength < beforeLength) {
+            moveTo(r, nowLength);
+            append(ESC).append('[').append('K');
+        }
+    }
+
+    private void put(char c) {
+        if (c == '\n' || currentLengths[row] >= columns) {
+            row++;
+            ensureRow(row);
+            currentLengths[row] = 0;
+            if (c == '\n') return;
+        }
+        current[row][currentLengths[row]++] = c;
+    }
+
+    private void ensureRow(int r) {
+        if (r >= current.length) {
+            int size = Math.max(r + 1, current.length * 2);
+            current = Arrays.copyOf(current, size);
+            currentLengths = Arrays.copyOf(currentLengths, size);
+            previous = Arrays.copyOf(previous, size);
+            previousLengths = Arrays.copyOf(previousLengths, size);
+        }
+        if (current[r] == null) current[r] = new char[columns];
+        if (previous[r] == null) previous[r] = new char[columns];
+    }
+
+    private void swapFrames(int rows) {
+        char[][] rowsSwap = previous;
+        previous = current;
+        current = rowsSwap;
+        int[] lengthSwap = previousLengths;
+        previousLengths = currentLengths;
+        currentLengths = lengthSwap;
+        previousRows = rows;
+    }
+
+    private void moveTo(int r, int c) {
+        append(ESC).append('[');
+        appendNumber(r + 1);
+        append(';');
+        appendNumber(c + 1);
+        append('H');
+    }
+
+    private void appendNumber(int value) {
+        int divisor = 1;
+        while (value / divisor >= 10) divisor *= 10;
+        for (; divisor > 0; divisor /= 10) {
+            append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private TerminalRenderer append(char c) {
+        if (bufferLength == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        buffer[bufferLength++] = c;
+        return this;
+    }
+
+    private void append(char[] chars, int offset, int length) {
+        if (bufferLength + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, bufferLength + length));
+        }
+        System.arraycopy(chars, offset, buffer, bufferLength, length);
+        bufferLength += length;
+    }
+}
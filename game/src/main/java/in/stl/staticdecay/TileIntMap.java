@@ -0,0 +1,144 @@
+package in.stl.staticdecay;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from tile coordinates to int values, the primitive counterpart of {@link TileMap}.
+ */
+final class TileIntMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /**
+     * The value returned for tiles that have none.
+     */
+    static final int NONE = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructs a new, empty TileIntMap.
+     */
+    TileIntMap() {
+        this(16);
+    }
+
+    /**
+     * Constructs a new, empty TileIntMap sized for the expected number of entries.
+     *
+     * @param expectedSize The number of entries the map should hold without growing.
+     */
+    TileIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Gets the value stored for a tile.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The value, or {@link #NONE} if the tile has no value.
+     */
+    int get(int x, int y) {
+        long key = TileMap.key(x, y);
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) return values[i];
+            if (k == EMPTY) return NONE;
+        }
+    }
+
+    /**
+     * Stores a value for a tile, replacing any previous value.
+     *
+     * @param x     The x-coordinate.
+     * @param y     The y-coordinate.
+     * @param value The value to store, which must not be {@link #NONE}.
+     * @return The previous value, or {@link #NONE} if the tile had no value.
+     */
+    int put(int x, int y, int value) {
+        long key = TileMap.key(x, y);
+        int i = slot(key);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (mask + 1) >> 1) {
+            grow();
+        }
+        return NONE;
+    }
+
+    /**
+     * Removes the value stored for a tile.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The removed value, or {@link #NONE} if the tile had no value.
+     */
+    int remove(int x, int y) {
+        long key = TileMap.key(x, y);
+        int i = slot(key);
+        for (; keys[i] != key; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) return NONE;
+        }
+        int previous = values[i];
+        size--;
+        // Shift later entries of the probe chain back so no lookup stops early at the hole.
+        int hole = i;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = EMPTY;
+        return previous;
+    }
+
+    /**
+     * Gets the number of tiles that have a value.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = slot(oldKeys[i]);
+                while (keys[j] != EMPTY) j = (j + 1) & mask;
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
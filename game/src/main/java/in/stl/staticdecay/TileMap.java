@@ -0,0 +1,169 @@
+package in.stl.staticdecay;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from tile coordinates to values. The coordinates are packed into a single long, so
+ * lookups do not box or allocate.
+ *
+ * @param <V> The type of the values.
+ */
+final class TileMap<V> {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructs a new, empty TileMap.
+     */
+    TileMap() {
+        this(16);
+    }
+
+    /**
+     * Constructs a new, empty TileMap sized for the expected number of entries.
+     *
+     * @param expectedSize The number of entries the map should hold without growing.
+     */
+    TileMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Constructs a new TileMap holding the same entries as another.
+     *
+     * @param other The map to copy.
+     */
+    TileMap(TileMap<V> other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.size = other.size;
+        this.mask = other.mask;
+    }
+
+    /**
+     * Packs tile coordinates into a single key.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The packed key.
+     */
+    static long key(int x, int y) {
+        return ((long) y << 32) | (x & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the value stored for a tile.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The value, or null if the tile has no value.
+     */
+    @SuppressWarnings("unchecked")
+    V get(int x, int y) {
+        long key = key(x, y);
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) return (V) values[i];
+            if (k == EMPTY) return null;
+        }
+    }
+
+    /**
+     * Stores a value for a tile, replacing any previous value.
+     *
+     * @param x     The x-coordinate.
+     * @param y     The y-coordinate.
+     * @param value The value to store.
+     * @return The previous value, or null if the tile had no value.
+     */
+    @SuppressWarnings("unchecked")
+    V put(int x, int y, V value) {
+        long key = key(x, y);
+        int i = slot(key);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (mask + 1) >> 1) {
+            grow();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value stored for a tile.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The removed value, or null if the tile had no value.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int x, int y) {
+        long key = key(x, y);
+        int i = slot(key);
+        for (; keys[i] != key; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) return null;
+        }
+        V previous = (V) values[i];
+        size--;
+        // Shift later entries of the probe chain back so no lookup stops early at the hole.
+        int hole = i;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        return previous;
+    }
+
+    /**
+     * Gets the number of tiles that have a value.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = slot(oldKeys[i]);
+                while (keys[j] != EMPTY) j = (j + 1) & mask;
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package in.stl.staticdecay;
+
+/**
+ * Stores the tiles of a zone. Callers are expected to check coordinates against the zone bounds first.
+ */
+public interface TileStore {
+
+    /**
+     * Gets the width of the stored map.
+     *
+     * @return The width in tiles.
+     */
+    int getWidth();
+
+    /**
+     * Gets the height of the stored map.
+     *
+     * @return The height in tiles.
+     */
+    int getHeight();
+
+    /**
+     * Gets the tile at the specified coordinates.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The tile character.
+     */
+    char get(int x, int y);
+
+    /**
+     * Sets the tile at the specified coordinates.
+     *
+     * @param x    The x-coordinate.
+     * @param y    The y-coordinate.
+     * @param tile The new tile character.
+     */
+    void set(int x, int y, char tile);
+
+    /**
+     * Releases any resources held by the store. The store must not be used afterwards.
+     */
+    default void close() {
+    }
+}
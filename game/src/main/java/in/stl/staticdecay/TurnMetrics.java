@@ -0,0 +1,117 @@
+package in.stl.staticdecay;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Times the phases of one session's turns, each in its own {@link LatencyHistogram}. A game without metrics skips the
+ * timing altogether, so metrics cost nothing until they are turned on. The metrics can be published as an MXBean
+ * named {@code in.stl.staticdecay:type=TurnMetrics,session=NAME} for JConsole and other JMX clients.
+ */
+public final class TurnMetrics implements TurnMetricsMXBean {
+
+    /**
+     * The timed phases of a turn.
+     */
+    public enum Phase {
+        RENDER, INPUT_WAIT, PLAYER_ACTION, CREATURE_TURN, PLAYER_STATS
+    }
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+    private ObjectName name;
+
+    /**
+     * Constructs a new TurnMetrics object with empty histograms.
+     */
+    public TurnMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records how long a phase took.
+     *
+     * @param phase The phase.
+     * @param start The {@link System#nanoTime()} the phase started at.
+     * @return The time the phase ended, for the next phase to start from.
+     */
+    public long record(Phase phase, long start) {
+        long end = System.nanoTime();
+        histograms[phase.ordinal()].record(end - start);
+        return end;
+    }
+
+    /**
+     * Gets the histogram of a phase.
+     *
+     * @param phase The phase.
+     * @return The histogram.
+     */
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Publishes the metrics on the platform MBean server.
+     *
+     * @param session The name of the session, unique among the published metrics.
+     * @throws IllegalStateException If the metrics cannot be registered, for example because the name is taken.
+     */
+    public void register(String session) {
+        try {
+            ObjectName objectName = new ObjectName("in.stl.staticdecay:type=TurnMetrics,session="
+                    + ObjectName.quote(session));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            name = objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the turn metrics of session " + session, e);
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server, if they were published.
+     */
+    public void unregister() {
+        if (name == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            // Already gone, which is all unregistering asks for.
+        }
+        name = null;
+    }
+
+    @Override
+    public LatencyHistogram.Summary getRender() {
+        return histograms[Phase.RENDER.ordinal()].summarize();
+    }
+
+    @Override
+    public LatencyHistogram.Summary getInputWait() {
+        return histograms[Phase.INPUT_WAIT.ordinal()].summarize();
+    }
+
+    @Override
+    public LatencyHistogram.Summary getPlayerAction() {
+        return histograms[Phase.PLAYER_ACTION.ordinal()].summarize();
+    }
+
+    @Override
+    public LatencyHistogram.Summary getCreatureTurn() {
+        return histograms[Phase.CREATURE_TURN.ordinal()].summarize();
+    }
+
+    @Override
+    public LatencyHistogram.Summary getPlayerStats() {
+        return histograms[Phase.PLAYER_STATS.ordinal()].summarize();
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+}
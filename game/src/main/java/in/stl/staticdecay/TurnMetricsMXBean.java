@@ -0,0 +1,47 @@
+package in.stl.staticdecay;
+
+/**
+ * The management interface of {@link TurnMetrics}, showing where one session's turns spend their time.
+ */
+public interface TurnMetricsMXBean {
+
+    /**
+     * Gets the time spent drawing the game screen.
+     *
+     * @return The render latencies.
+     */
+    LatencyHistogram.Summary getRender();
+
+    /**
+     * Gets the time spent waiting for the player's input.
+     *
+     * @return The input wait latencies.
+     */
+    LatencyHistogram.Summary getInputWait();
+
+    /**
+     * Gets the time spent applying the player's command: moving, interacting, crafting or a round of combat.
+     *
+     * @return The player action latencies.
+     */
+    LatencyHistogram.Summary getPlayerAction();
+
+    /**
+     * Gets the time spent moving the creatures.
+     *
+     * @return The creature turn latencies.
+     */
+    LatencyHistogram.Summary getCreatureTurn();
+
+    /**
+     * Gets the time spent updating the player's stats at the end of a turn.
+     *
+     * @return The player stats latencies.
+     */
+    LatencyHistogram.Summary getPlayerStats();
+
+    /**
+     * Forgets every latency recorded so far.
+     */
+    void reset();
+}
@@ -0,0 +1,148 @@
+package in.stl.staticdecay;
+
+/**
+ * Tracks which tiles of a zone the player can see now and which ones they have seen before. Each state is stored as
+ * one bit per tile, packed into longs row by row, so a whole word of 64 tiles can be tested or cleared at once.
+ */
+public final class VisibilityMap {
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] seen;
+    private final long[] visible;
+
+    /**
+     * Constructs a new VisibilityMap with every tile unseen.
+     *
+     * @param width  The width of the zone.
+     * @param height The height of the zone.
+     */
+    public VisibilityMap(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.seen = new long[wordsPerRow * height];
+        this.visible = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Gets the number of words that make up one row.
+     *
+     * @return The number of words per row.
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Checks if the player has ever seen a tile.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return True if the tile has been seen, false otherwise or if the coordinates are out of bounds.
+     */
+    public boolean isSeen(int x, int y) {
+        return inBounds(x, y) && (seen[index(x, y)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Checks if the player can currently see a tile.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return True if the tile is in view, false otherwise or if the coordinates are out of bounds.
+     */
+    public boolean isVisible(int x, int y) {
+        return inBounds(x, y) && (visible[index(x, y)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Marks a tile as seen without putting it in view.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     */
+    public void markSeen(int x, int y) {
+        if (inBounds(x, y)) {
+            seen[index(x, y)] |= 1L << x;
+        }
+    }
+
+    /**
+     * Puts a tile in view, which also marks it as seen.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     */
+    public void markVisible(int x, int y) {
+        if (inBounds(x, y)) {
+            int i = index(x, y);
+            long bit = 1L << x;
+            visible[i] |= bit;
+            seen[i] |= bit;
+        }
+    }
+
+    /**
+     * Takes every tile in a rectangle out of view. Whole words are cleared, so tiles in the same words just outside
+     * the rectangle are cleared too.
+     *
+     * @param minX The smallest x-coordinate of the rectangle.
+     * @param minY The smallest y-coordinate of the rectangle.
+     * @param maxX The largest x-coordinate of the rectangle.
+     * @param maxY The largest y-coordinate of the rectangle.
+     */
+    public void clearVisible(int minX, int minY, int maxX, int maxY) {
+        int firstWord = Math.max(0, minX) >>> 6;
+        int lastWord = Math.min(width - 1, maxX) >>> 6;
+        for (int y = Math.max(0, minY); y <= Math.min(height - 1, maxY); y++) {
+            int row = y * wordsPerRow;
+            for (int w = firstWord; w <= lastWord; w++) {
+                visible[row + w] = 0;
+            }
+        }
+    }
+
+    /**
+     * Gets 64 tiles of a row that have been seen, one bit per tile. Bit i of word w is the tile at x = w * 64 + i.
+     *
+     * @param y    The row.
+     * @param word The index of the word within the row.
+     * @return The packed bits.
+     */
+    public long seenWord(int y, int word) {
+        return seen[y * wordsPerRow + word];
+    }
+
+    /**
+     * Gets 64 tiles of a row that are in view, one bit per tile. Bit i of word w is the tile at x = w * 64 + i.
+     *
+     * @param y    The row.
+     * @param word The index of the word within the row.
+     * @return The packed bits.
+     */
+    public long visibleWord(int y, int word) {
+        return visible[y * wordsPerRow + word];
+    }
+
+    /**
+     * Gets 64 tiles of a row that have been seen but are not in view, one bit per tile.
+     *
+     * @param y    The row.
+     * @param word The index of the word within the row.
+     * @return The packed bits.
+     */
+    public long rememberedWord(int y, int word) {
+        int i = y * wordsPerRow + word;
+        return seen[i] & ~visible[i];
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    private int index(int x, int y) {
+        return y * wordsPerRow + (x >>> 6);
+    }
+}
@@ -12,7 +12,7 @@ public class Whisperer extends Creature {
      * @param y The y-coordinate of the Whisperer.
      */
     public Whisperer(int x, int y) {
-        super("Whisperer", 20, 5, x, y);
+        super(CreatureArchetype.WHISPERER, x, y);
     }
 
 }
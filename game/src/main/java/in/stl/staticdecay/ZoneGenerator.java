@@ -0,0 +1,357 @@
+package in.stl.staticdecay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates zones of rooms and corridors from a seed.
+ * <p>
+ * The map is divided into square blocks with one room each. Every room is joined to the rooms of its right and lower
+ * neighbours by an L-shaped corridor. The rooms are a pure function of the seed and the block coordinates, and every
+ * corridor only crosses the two blocks it joins. So each block can be carved on its own, using only its own random
+ * stream and writing only its own tiles, and the blocks are generated in parallel on a fork-join pool. The creatures
+ * and interactables found in each block are collected in block order afterwards, so the result is the same for any
+ * number of threads. Creatures go straight into the zone's {@link CreatureStore}, so no creature objects are made.
+ */
+public final class ZoneGenerator {
+
+    /**
+     * The nominal width and height of a block. Blocks on the right and bottom edges absorb any remainder.
+     */
+    public static final int BLOCK_SIZE = 24;
+
+    /**
+     * The number of tiles above which a generated zone keeps its tiles in a {@link ChunkedTileStore} rather than in
+     * memory.
+     */
+    public static final int CHUNKED_TILE_THRESHOLD = 2048 * 2048;
+
+    // The chunks a chunked zone keeps in memory, enough for the area around the player and some left behind.
+    private static final int HOT_CHUNKS = 64;
+
+    // Blocks handled by one fork-join task before it stops splitting.
+    private static final int BLOCKS_PER_TASK = 64;
+
+    private static final String[] CONTAINERS = {
+            "A rusted locker.", "An abandoned backpack.", "A dented filing cabinet.", "A collapsed supply shelf."
+    };
+    private static final String[] NOTES = {
+            "A torn page flutters on the floor.", "Words are scratched into the wall.", "A dead radio lies here."
+    };
+
+    // The kinds of creature that roam generated zones.
+    private static final CreatureArchetype[] SPAWNS = {
+            CreatureArchetype.SHAMBLER, CreatureArchetype.STALKER, CreatureArchetype.WHISPERER
+    };
+
+    private final long seed;
+
+    /**
+     * Constructs a new ZoneGenerator object.
+     *
+     * @param seed The seed that determines every generated zone.
+     */
+    public ZoneGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a zone on the common fork-join pool.
+     *
+     * @param name   The name of the zone.
+     * @param width  The width of the zone, at least 8.
+     * @param height The height of the zone, at least 8. Either the width or the height must be at least two blocks.
+     * @return The generated zone, with the player starting in the top-left room and a door in the bottom-right room
+     *         that leads to a newly generated zone of the same size.
+     * @throws IllegalArgumentException If the zone is too small to hold the start and exit rooms apart.
+     */
+    public GameZone generate(String name, int width, int height) {
+        return generate(name, width, height, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates a zone on the given fork-join pool.
+     *
+     * @param name   The name of the zone.
+     * @param width  The width of the zone, at least 8.
+     * @param height The height of the zone, at least 8. Either the width or the height must be at least two blocks.
+     * @param pool   The pool to generate the blocks on.
+     * @return The generated zone, with the player starting in the top-left room and a door in the bottom-right room
+     *         that leads to a newly generated zone of the same size.
+     *         Zones of more than {@link #CHUNKED_TILE_THRESHOLD} tiles keep them in a temporary file until closed.
+     * @throws IllegalArgumentException If the zone is too small to hold the start and exit rooms apart.
+     */
+    public GameZone generate(String name, int width, int height, ForkJoinPool pool) {
+        if (width < 8 || height < 8) {
+            throw new IllegalArgumentException("Zones must be at least 8x8, got " + width + "x" + height);
+        }
+        if (width < 2 * BLOCK_SIZE && height < 2 * BLOCK_SIZE) {
+            // A single block would put the exit door in the start room, right under the player.
+            throw new IllegalArgumentException("Zones must be at least " + 2 * BLOCK_SIZE
+                    + " tiles wide or high to hold separate start and exit rooms, got " + width + "x" + height);
+        }
+        Layout layout = new Layout(width, height);
+        pool.invoke(new CarveBlocks(layout, 0, layout.blocksX * layout.blocksY));
+
+        int creatureCount = 0;
+        for (int[] spawns : layout.blockCreatures) {
+            creatureCount += spawns.length / 3;
+        }
+        CreatureStore creatures = new CreatureStore(creatureCount);
+        List<Interactable> interactables = new ArrayList<>();
+        for (int block = 0; block < layout.blockCreatures.length; block++) {
+            int[] spawns = layout.blockCreatures[block];
+            for (int i = 0; i < spawns.length; i += 3) {
+                creatures.add(SPAWNS[spawns[i + 2]], spawns[i], spawns[i + 1]);
+            }
+            interactables.addAll(Arrays.asList(layout.blockInteractables[block]));
+        }
+        Room start = layout.room(0, 0);
+        Room exit = layout.room(layout.blocksX - 1, layout.blocksY - 1);
+        layout.tiles[exit.centreY * width + exit.centreX] = 'D';
+        interactables.add(new Interactable(exit.centreX, exit.centreY, Interactable.Type.DOOR,
+                "A heavy door leading deeper into the ruins."));
+
+        GameZone zone = new GameZone(name, tileStore(width, height, layout.tiles), creatures, interactables);
+        zone.setStart(start.centreX, start.centreY);
+        // The door leads one level deeper: a zone of the same size from the next seed, generated once it is opened.
+        ZoneGenerator deeper = new ZoneGenerator(seed * 0x9E3779B97F4A7C15L + 1);
+        zone.setNextZone(exit.centreX, exit.centreY, () -> deeper.generate(name, width, height));
+        return zone;
+    }
+
+    /**
+     * Puts generated tiles in a store suited to the size of the zone. Small zones keep the array itself, while large
+     * ones copy their floor tiles into a temporary chunk file so the array can be dropped.
+     */
+    private static TileStore tileStore(int width, int height, char[] tiles) {
+        if ((long) width * height <= CHUNKED_TILE_THRESHOLD) {
+            return new ArrayTileStore(width, height, tiles);
+        }
+        ChunkedTileStore store = ChunkedTileStore.createTemporary(width, height, '#', HOT_CHUNKS);
+        // Walls are the fill tile and cost nothing, so only the rooms and corridors are written.
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                char tile = tiles[y * width + x];
+                if (tile != '#') store.set(x, y, tile);
+            }
+        }
+        return store;
+    }
+
+    /**
+     * A room inside one block.
+     */
+    private static final class Room {
+        final int x;
+        final int y;
+        final int width;
+        final int height;
+        final int centreX;
+        final int centreY;
+
+        Room(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.centreX = x + width / 2;
+            this.centreY = y + height / 2;
+        }
+    }
+
+    /**
+     * The shared state of one generation run. Each block only ever writes its own tiles and its own list slots.
+     */
+    private final class Layout {
+        final int width;
+        final int height;
+        final int blocksX;
+        final int blocksY;
+        final char[] tiles;
+        // Per block, the creatures as (x, y, kind) triples, with kind an index into SPAWNS.
+        final int[][] blockCreatures;
+        final Interactable[][] blockInteractables;
+
+        Layout(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.blocksX = Math.max(1, width / BLOCK_SIZE);
+            this.blocksY = Math.max(1, height / BLOCK_SIZE);
+            this.tiles = new char[width * height];
+            this.blockCreatures = new int[blocksX * blocksY][];
+            this.blockInteractables = new Interactable[blocksX * blocksY][];
+        }
+
+        int blockX0(int bx) {
+            return bx * (width / blocksX);
+        }
+
+        int blockX1(int bx) {
+            return bx == blocksX - 1 ? width : (bx + 1) * (width / blocksX);
+        }
+
+        int blockY0(int by) {
+            return by * (height / blocksY);
+        }
+
+        int blockY1(int by) {
+            return by == blocksY - 1 ? height : (by + 1) * (height / blocksY);
+        }
+
+        SplittableRandom blockRandom(int bx, int by) {
+            return new SplittableRandom(seed ^ (bx * 0x9E3779B97F4A7C15L) ^ (by * 0xC2B2AE3D27D4EB4FL));
+        }
+
+        /**
+         * Works out the room of a block. The first draws of the block's random stream always decide the room, so
+         * neighbouring blocks can recompute it to route their corridors.
+         */
+        Room room(int bx, int by) {
+            return room(bx, by, blockRandom(bx, by));
+        }
+
+        Room room(int bx, int by, SplittableRandom random) {
+            int x0 = blockX0(bx);
+            int y0 = blockY0(by);
+            int bw = blockX1(bx) - x0;
+            int bh = blockY1(by) - y0;
+            // Leave a one tile wall on every side of the block so rooms only meet through corridors.
+            int w = 3 + random.nextInt(Math.max(1, bw - 5));
+            int h = 3 + random.nextInt(Math.max(1, bh - 5));
+            int x = x0 + 1 + random.nextInt(Math.max(1, bw - w - 1));
+            int y = y0 + 1 + random.nextInt(Math.max(1, bh - h - 1));
+            return new Room(x, y, w, h);
+        }
+
+        void carveBlock(int block) {
+            int bx = block % blocksX;
+            int by = block / blocksX;
+            int x0 = blockX0(bx);
+            int x1 = blockX1(bx);
+            int y0 = blockY0(by);
+            int y1 = blockY1(by);
+            for (int y = y0; y < y1; y++) {
+                Arrays.fill(tiles, y * width + x0, y * width + x1, '#');
+            }
+            SplittableRandom random = blockRandom(bx, by);
+            Room room = room(bx, by, random);
+            fill(room.x, room.y, room.x + room.width - 1, room.y + room.height - 1, x0, y0, x1, y1);
+            if (bx + 1 < blocksX) corridor(room, room(bx + 1, by), true, x0, y0, x1, y1);
+            if (bx > 0) corridor(room(bx - 1, by), room, true, x0, y0, x1, y1);
+            if (by + 1 < blocksY) corridor(room, room(bx, by + 1), false, x0, y0, x1, y1);
+            if (by > 0) corridor(room(bx, by - 1), room, false, x0, y0, x1, y1);
+            populate(block, bx, by, room, random);
+        }
+
+        /**
+         * Carves the part of an L-shaped corridor between two rooms that lies inside the current block. Horizontal
+         * corridors run along the first room's centre row and then down the second room's centre column; vertical
+         * ones run down the first room's centre column and then along the second room's centre row.
+         */
+        void corridor(Room from, Room to, boolean horizontal, int x0, int y0, int x1, int y1) {
+            if (horizontal) {
+                fill(from.centreX, from.centreY, to.centreX, from.centreY, x0, y0, x1, y1);
+                fill(to.centreX, from.centreY, to.centreX, to.centreY, x0, y0, x1, y1);
+            } else {
+                fill(from.centreX, from.centreY, from.centreX, to.centreY, x0, y0, x1, y1);
+                fill(from.centreX, to.centreY, to.centreX, to.centreY, x0, y0, x1, y1);
+            }
+        }
+
+        /**
+         * Sets a rectangle of tiles to floor, clipped to the current block.
+         */
+        void fill(int ax, int ay, int bx, int by, int x0, int y0, int x1, int y1) {
+            int minX = Math.max(Math.min(ax, bx), x0);
+            int maxX = Math.min(Math.max(ax, bx), x1 - 1);
+            int minY = Math.max(Math.min(ay, by), y0);
+            int maxY = Math.min(Math.max(ay, by), y1 - 1);
+            for (int y = minY; y <= maxY; y++) {
+                for (int x = minX; x <= maxX; x++) {
+                    tiles[y * width + x] = '.';
+                }
+            }
+        }
+
+        void populate(int block, int bx, int by, Room room, SplittableRandom random) {
+            List<Interactable> interactables = new ArrayList<>();
+            boolean startRoom = bx == 0 && by == 0;
+            boolean exitRoom = bx == blocksX - 1 && by == blocksY - 1;
+            if (random.nextInt(100) < 35) {
+                place(room, random, Interactable.Type.CONTAINER, CONTAINERS[random.nextInt(CONTAINERS.length)],
+                        interactables, startRoom || exitRoom);
+            }
+            if (random.nextInt(100) < 10) {
+                place(room, random, Interactable.Type.NOTE, NOTES[random.nextInt(NOTES.length)],
+                        interactables, startRoom || exitRoom);
+            }
+            int creatureCount = startRoom ? 0 : random.nextInt(3);
+            int[] creatures = new int[creatureCount * 3];
+            int placed = 0;
+            for (int i = 0; i < creatureCount; i++) {
+                int x = room.x + random.nextInt(room.width);
+                int y = room.y + random.nextInt(room.height);
+                if (tiles[y * width + x] != '.' || (x == room.centreX && y == room.centreY)) continue;
+                boolean taken = false;
+                for (int c = 0; c < placed; c += 3) {
+                    taken |= creatures[c] == x && creatures[c + 1] == y;
+                }
+                if (taken) continue;
+                creatures[placed] = x;
+                creatures[placed + 1] = y;
+                creatures[placed + 2] = random.nextInt(SPAWNS.length);
+                placed += 3;
+            }
+            blockCreatures[block] = placed == creatures.length ? creatures : Arrays.copyOf(creatures, placed);
+            blockInteractables[block] = interactables.toArray(new Interactable[0]);
+        }
+
+        /**
+         * Places an interactable on a free floor tile of a room, never on the centre, which is kept for the player's
+         * start and the exit door.
+         */
+        void place(Room room, SplittableRandom random, Interactable.Type type, String description,
+                   List<Interactable> interactables, boolean avoidCentre) {
+            int x = room.x + random.nextInt(room.width);
+            int y = room.y + random.nextInt(room.height);
+            if (tiles[y * width + x] != '.' || (avoidCentre && x == room.centreX && y == room.centreY)) return;
+            tiles[y * width + x] = type.getSymbol();
+            interactables.add(new Interactable(x, y, type, description));
+        }
+    }
+
+    /**
+     * Carves a range of blocks, splitting the range in half until it is small enough.
+     */
+    private static final class CarveBlocks extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Layout layout;
+        private final int from;
+        private final int to;
+
+        CarveBlocks(Layout layout, int from, int to) {
+            this.layout = layout;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCKS_PER_TASK) {
+                for (int block = from; block < to; block++) {
+                    layout.carveBlock(block);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CarveBlocks(layout, from, mid), new CarveBlocks(layout, mid, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package in.stl.staticdecay;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the zone behind a door in the background while the player walks up to it, so going through the door does
+ * not stall on building the zone. At most one zone is prefetched at a time. A prefetch that is no longer wanted is
+ * cancelled if it has not started, and otherwise left to finish and close the zone it built.
+ * <p>
+ * Each zone is named by a key that stands for the door it lies behind, such as its template or the generated zone
+ * whose door leads to it. Zones are built by functions of their key alone, from immutable templates or from a seed,
+ * so a prefetched zone is exactly the zone that would have been built when the door was opened.
+ */
+final class ZonePrefetcher {
+
+    private final Executor executor;
+    private Object key;
+    private Prefetch pending;
+
+    /**
+     * Constructs a new ZonePrefetcher object.
+     *
+     * @param executor The executor the zones are built on.
+     */
+    ZonePrefetcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts building a zone, unless it is already being built.
+     *
+     * @param key   The key of the zone.
+     * @param build Builds the zone. Called on the executor.
+     */
+    void prefetch(Object key, Supplier<GameZone> build) {
+        if (pending != null && this.key == key) return;
+        drop();
+        this.key = key;
+        pending = new Prefetch(build);
+        executor.execute(pending);
+    }
+
+    /**
+     * Cancels or drops the zone being prefetched, if there is one.
+     */
+    void drop() {
+        Prefetch task = pending;
+        if (task == null) return;
+        pending = null;
+        key = null;
+        if (!task.cancel(false)) {
+            task.drop();
+        }
+    }
+
+    /**
+     * Gets a zone, taking the prefetched one if it has the same key. A prefetch that has not started yet is run on the
+     * calling thread rather than waiting for the executor to get to it.
+     *
+     * @param key   The key of the zone.
+     * @param build Builds the zone on the calling thread if it was not prefetched.
+     * @return The zone.
+     */
+    GameZone take(Object key, Supplier<GameZone> build) {
+        Prefetch task = pending;
+        if (task == null || this.key != key) {
+            drop();
+            return build.get();
+        }
+        pending = null;
+        this.key = null;
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return build.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException("Could not build the zone behind the door", cause);
+        }
+    }
+
+    /**
+     * A zone being built, which closes the zone itself if it is dropped while being built. Whichever of finishing and
+     * dropping happens second closes the zone, so it is closed exactly once whatever the order.
+     */
+    private static final class Prefetch extends FutureTask<GameZone> {
+
+        private static final int FINISHED = 1;
+        private static final int DROPPED = 2;
+
+        private final AtomicInteger state = new AtomicInteger();
+
+        Prefetch(Supplier<GameZone> build) {
+            super(build::get);
+        }
+
+        @Override
+        protected void done() {
+            if (!isCancelled() && state.getAndUpdate(s -> s | FINISHED) == DROPPED) {
+                closeZone();
+            }
+        }
+
+        /**
+         * Gives up on the zone, closing it now if it is already built or once it is.
+         */
+        void drop() {
+            if (state.getAndUpdate(s -> s | DROPPED) == FINISHED) {
+                closeZone();
+            }
+        }
+
+        private void closeZone() {
+            try {
+                get().close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Nothing was built, so there is nothing to release.
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package in.stl.staticdecay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The immutable description of a zone: its layout, where its creatures spawn, its interactables and what its note and
+ * door do. A template is shared by every game, and each game that enters the zone gets its own {@link GameZone} built
+ * from it. The game's own zones are read from the zone files under {@code /zones} when the content is first loaded.
+ * <p>
+ * A new zone shares the template's tiles and interactables, and only takes a copy of either the first time it changes
+ * them, so entering a zone allocates little beyond its creatures and what the player has seen of it.
+ */
+public final class ZoneTemplate {
+
+    private final String name;
+    private final int width;
+    private final int height;
+    private final char[] layout;
+    private final List<Spawn> spawns;
+    private final TileMap<Interactable> interactables;
+    private final List<String> lore;
+    private final String loreItem;
+    private final Door door;
+    private final int sanityDrain;
+    // The tiles of the zone's door interactables.
+    private final int[] doorXs;
+    private final int[] doorYs;
+
+    /**
+     * Constructs a new ZoneTemplate object for a zone whose note tells no story and whose door leads nowhere.
+     *
+     * @param name          The name of the zone.
+     * @param width         The width of the zone.
+     * @param height        The height of the zone.
+     * @param rows          The layout of the zone, one string per row. Short rows are padded with walls.
+     * @param spawns        Where the creatures of the zone start.
+     * @param interactables The interactables of the zone.
+     */
+    public ZoneTemplate(String name, int width, int height, String[] rows, List<Spawn> spawns,
+                        List<Interactable> interactables) {
+        this(name, width, height, rows, spawns, interactables, List.of(), null, null, 0);
+    }
+
+    private ZoneTemplate(String name, int width, int height, String[] rows, List<Spawn> spawns,
+                         List<Interactable> interactables, List<String> lore, String loreItem, Door door,
+                         int sanityDrain) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+        this.layout = new char[width * height];
+        for (int y = 0; y < height; y++) {
+            String row = y < rows.length ? rows[y] : "";
+            for (int x = 0; x < width; x++) {
+                layout[y * width + x] = x < row.length() ? row.charAt(x) : '#';
+            }
+        }
+        this.spawns = List.copyOf(spawns);
+        this.interactables = new TileMap<>(interactables.size());
+        int doors = 0;
+        for (Interactable interactable : interactables) {
+            this.interactables.put(interactable.getX(), interactable.getY(), interactable);
+            if (interactable.getType() == Interactable.Type.DOOR) doors++;
+        }
+        this.doorXs = new int[doors];
+        this.doorYs = new int[doors];
+        doors = 0;
+        for (Interactable interactable : interactables) {
+            if (interactable.getType() == Interactable.Type.DOOR) {
+                doorXs[doors] = interactable.getX();
+                doorYs[doors] = interactable.getY();
+                doors++;
+            }
+        }
+        this.lore = List.copyOf(lore);
+        this.loreItem = loreItem;
+        this.door = door;
+        this.sanityDrain = sanityDrain;
+    }
+
+    /**
+     * Reads a template from a zone file. A zone file has one "key: value" entry per line:
+     * <pre>
+     * name: The name of the zone
+     * size: WIDTH HEIGHT
+     * map:              followed by exactly HEIGHT rows of tiles
+     * spawn: KIND X Y   a creature, any number of times
+     * object: X Y T:... an interactable in the form read by {@link Interactable#parse}, any number of times
+     * lore: TEXT        a line logged when the player reads the zone's note, any number of times
+     * lore.item: ITEM   an item the note gives the player
+     * door.to: ZONE     the zone the door leads to; door.key, door.opened and door.locked go with it
+     * sanity.drain: N   the sanity lost every turn spent in the zone
+     * </pre>
+     * Blank lines and lines starting with ';' are ignored, except inside the map.
+     *
+     * @param source A name for the file, used in error messages.
+     * @param reader The contents of the file.
+     * @return The template.
+     * @throws IllegalArgumentException If the file is malformed.
+     * @throws UncheckedIOException     If the file cannot be read.
+     */
+    public static ZoneTemplate read(String source, BufferedReader reader) {
+        String name = null;
+        int width = -1;
+        int height = -1;
+        String[] rows = null;
+        List<Spawn> spawns = new ArrayList<>();
+        List<Interactable> interactables = new ArrayList<>();
+        List<String> lore = new ArrayList<>();
+        String loreItem = null;
+        String doorTarget = null;
+        String doorKey = null;
+        String doorOpened = "The door opens.";
+        String doorLocked = "It won't open.";
+        int sanityDrain = 0;
+        int lineNumber = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith(";")) continue;
+                int colon = line.indexOf(':');
+                if (colon < 0) {
+                    throw malformed(source, lineNumber, "expected \"key: value\"");
+                }
+                String key = line.substring(0, colon).trim();
+                String value = line.substring(colon + 1).trim();
+                switch (key) {
+                    case "name" -> name = value;
+                    case "size" -> {
+                        String[] parts = value.split("\\s+");
+                        if (parts.length != 2) throw malformed(source, lineNumber, "expected \"size: WIDTH HEIGHT\"");
+                        width = Integer.parseInt(parts[0]);
+                        height = Integer.parseInt(parts[1]);
+                    }
+                    case "map" -> {
+                        if (height < 0) throw malformed(source, lineNumber, "the size must come before the map");
+                        rows = new String[height];
+                        for (int y = 0; y < height; y++) {
+                            rows[y] = reader.readLine();
+                            lineNumber++;
+                            if (rows[y] == null) throw malformed(source, lineNumber, "the map ends early");
+                        }
+                    }
+                    case "spawn" -> {
+                        String[] parts = value.split("\\s+");
+                        if (parts.length != 3) throw malformed(source, lineNumber, "expected \"spawn: KIND X Y\"");
+                        spawns.add(new Spawn(parts[0], Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+                    }
+                    case "object" -> {
+                        String[] parts = value.split("\\s+", 3);
+                        if (parts.length != 3) throw malformed(source, lineNumber, "expected \"object: X Y T:TEXT\"");
+                        interactables.add(Interactable.parse(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                                parts[2]));
+                    }
+                    case "lore" -> lore.add(value);
+                    case "lore.item" -> loreItem = value;
+                    case "door.to" -> doorTarget = value;
+                    case "door.key" -> doorKey = value;
+                    case "door.opened" -> doorOpened = value;
+                    case "door.locked" -> doorLocked = value;
+                    case "sanity.drain" -> sanityDrain = Integer.parseInt(value);
+                    default -> throw malformed(source, lineNumber, "unknown key \"" + key + "\"");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read zone file " + source, e);
+        } catch (NumberFormatException e) {
+            throw malformed(source, lineNumber, e.getMessage());
+        }
+        if (name == null || rows == null) {
+            throw new IllegalArgumentException(source + ": a zone needs a name, a size and a map");
+        }
+        Door door = doorTarget == null ? null : new Door(doorTarget, doorKey, doorOpened, doorLocked);
+        return new ZoneTemplate(name, width, height, rows, spawns, interactables, lore, loreItem, door, sanityDrain);
+    }
+
+    private static IllegalArgumentException malformed(String source, int lineNumber, String problem) {
+        return new IllegalArgumentException(source + ":" + lineNumber + ": " + problem);
+    }
+
+    /**
+     * Builds a new zone for one game. The zone shares the template's tiles and interactables until it changes them.
+     *
+     * @return The new zone.
+     */
+    public GameZone instantiate() {
+        CreatureStore creatures = new CreatureStore(spawns.size());
+        for (Spawn spawn : spawns) {
+            creatures.add(spawn.archetype, spawn.x, spawn.y);
+        }
+        return new GameZone(this, ArrayTileStore.copyOnWrite(width, height, layout), creatures, interactables);
+    }
+
+    /**
+     * Gets the name of the zone.
+     *
+     * @return The name of the zone.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the lines logged when the player reads the zone's note.
+     *
+     * @return A read-only list of the lines, empty if the note tells no story.
+     */
+    public List<String> getLore() {
+        return lore;
+    }
+
+    /**
+     * Gets the item the zone's note gives the player.
+     *
+     * @return The name of the item, or null if the note gives nothing.
+     */
+    public String getLoreItem() {
+        return loreItem;
+    }
+
+    /**
+     * Gets where the zone's door leads.
+     *
+     * @return The door, or null if the door leads nowhere.
+     */
+    public Door getDoor() {
+        return door;
+    }
+
+    /**
+     * Gets how far a tile is from the nearest door of the zone, counting a diagonal step as one.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @return The distance, or {@link Integer#MAX_VALUE} if the zone has no door.
+     */
+    public int distanceToDoor(int x, int y) {
+        int nearest = Integer.MAX_VALUE;
+        for (int i = 0; i < doorXs.length; i++) {
+            nearest = Math.min(nearest, Math.max(Math.abs(doorXs[i] - x), Math.abs(doorYs[i] - y)));
+        }
+        return nearest;
+    }
+
+    /**
+     * Gets the sanity lost every turn spent in the zone.
+     *
+     * @return The sanity lost per turn.
+     */
+    public int getSanityDrain() {
+        return sanityDrain;
+    }
+
+    /**
+     * Where a creature starts in a zone.
+     */
+    public static final class Spawn {
+
+        private final CreatureArchetype archetype;
+        private final int x;
+        private final int y;
+
+        /**
+         * Constructs a new Spawn object.
+         *
+         * @param kind The kind of creature: Shambler, Stalker, Whisperer or Anomaly.
+         * @param x    The x-coordinate the creature starts at.
+         * @param y    The y-coordinate the creature starts at.
+         * @throws IllegalArgumentException If there is no such kind of creature.
+         */
+        public Spawn(String kind, int x, int y) {
+            this.archetype = CreatureArchetype.byName(kind);
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * The door out of a zone.
+     */
+    public static final class Door {
+
+        private final String target;
+        private final String key;
+        private final String openedMessage;
+        private final String lockedMessage;
+
+        /**
+         * Constructs a new Door object.
+         *
+         * @param target        The name of the zone the door leads to.
+         * @param key           The item needed to open the door, or null if it is not locked.
+         * @param openedMessage The message logged when the player goes through.
+         * @param lockedMessage The message logged when the player lacks the key.
+         */
+        public Door(String target, String key, String openedMessage, String lockedMessage) {
+            this.target = target;
+            this.key = key;
+            this.openedMessage = openedMessage;
+            this.lockedMessage = lockedMessage;
+        }
+
+        /**
+         * Gets the name of the zone the door leads to.
+         *
+         * @return The zone name.
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * Gets the item needed to open the door.
+         *
+         * @return The item name, or null if the door is not locked.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the message logged when the player goes through the door.
+         *
+         * @return The message.
+         */
+        public String getOpenedMessage() {
+            return openedMessage;
+        }
+
+        /**
+         * Gets the message logged when the player lacks the key.
+         *
+         * @return The message.
+         */
+        public String getLockedMessage() {
+            return lockedMessage;
+        }
+    }
+}
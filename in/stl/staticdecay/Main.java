@@ -1,10 +0,0 @@
-package in.stl.staticdecay;
-
-public class Main {
-
-    public static void main(String[] args) {
-
-        StaticDecayGame game = new StaticDecayGame();
-        game.run();
-    }
-}
@@ -1,39 +0,0 @@
-package in.stl.staticdecay;
-
-import java.util.Objects;
-
-/**
- * A generic class to hold a pair of objects.
- *
- * @param <U> The type of the first object.
- * @param <V> The type of the second object.
- */
-public class Pair<U, V> {
-
-    public final U first;
-    public final V second;
-
-    /**
-     * Constructs a new Pair object.
-     *
-     * @param first  The first object.
-     * @param second The second object.
-     */
-    public Pair(U first, V second) {
-        this.first = first;
-        this.second = second;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Pair<?, ?> pair = (Pair<?, ?>) o;
-        return Objects.equals(first, pair.first) && Objects.equals(second, pair.second);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(first, second);
-    }
-}